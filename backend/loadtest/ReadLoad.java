@@ -0,0 +1,63 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop GET load on single reviews: each of <threads> threads fetches <baseUrl><id> for a
+ * random id between 1 and <maxId>. Prints throughput and the average body size; pass "gzip" to
+ * send Accept-Encoding: gzip.
+ *
+ * usage: java ReadLoad.java <baseUrl> <maxId> <threads> <seconds> [gzip]
+ */
+public class ReadLoad {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        long maxId = Long.parseLong(args[1]);
+        int threads = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+        boolean gzip = args.length > 4 && args[4].equals("gzip");
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong other = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < end) {
+                    long id = 1 + ThreadLocalRandom.current().nextLong(maxId);
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + id));
+                    if (gzip) {
+                        request.header("Accept-Encoding", "gzip");
+                    }
+                    try {
+                        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                            bytes.addAndGet(response.body().length);
+                        } else {
+                            other.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        other.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 30, TimeUnit.SECONDS);
+
+        System.out.printf("%d ok (%.0f req/s, avg %d bytes), %d other%n", ok.get(), ok.get() / (double) seconds,
+                ok.get() > 0 ? bytes.get() / ok.get() : 0, other.get());
+    }
+}
@@ -0,0 +1,78 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop POST load: each of <concurrency> virtual threads sends the request body again as
+ * soon as the previous answer arrives. A 503 from admission control is counted as shed and
+ * waits for its Retry-After before the next request. Prints throughput and p50/p99 latency of
+ * the successful reviews.
+ *
+ * usage: java ReviewLoad.java <url> <bodyFile> <concurrency> <seconds>
+ */
+public class ReviewLoad {
+
+    public static void main(String[] args) throws Exception {
+        String url = args[0];
+        byte[] body = Files.readAllBytes(Path.of(args[1]));
+        int concurrency = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < concurrency; i++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < end) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                            .header("Content-Type", "application/json")
+                            .timeout(Duration.ofSeconds(60))
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() == 200 && response.body().contains("\"success\":true")) {
+                            ok.incrementAndGet();
+                            latencies.add(System.nanoTime() - start);
+                        } else if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                            long retryAfter = Long.parseLong(response.headers().firstValue("Retry-After").orElse("1"));
+                            Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 90, TimeUnit.SECONDS);
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%d ok (%.0f req/s), %d shed, %d failed, p50 %d ms, p99 %d ms%n",
+                ok.get(), ok.get() / (double) seconds, shed.get(), failed.get(),
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99));
+    }
+
+    private static long percentileMs(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * percentile)]);
+    }
+}
@@ -0,0 +1,63 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the OpenAI chat-completions endpoint with a fixed latency, so load tests measure
+ * the backend rather than the provider. Answers with one canned review and token usage, as
+ * server-sent events when the request asks for "stream": true.
+ *
+ * usage: java StubProvider.java <port> <delayMs>
+ */
+public class StubProvider {
+
+    private static final String REVIEW = "{\\\"summary\\\":\\\"ok\\\",\\\"errors\\\":[],\\\"warnings\\\":[\\\"w1\\\"],"
+            + "\\\"suggestions\\\":[\\\"s1\\\"],\\\"goodPractices\\\":[]}";
+    private static final String USAGE = "\"usage\":{\"prompt_tokens\":100,\"completion_tokens\":20,\"total_tokens\":120}";
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        long delayMs = Long.parseLong(args[1]);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.createContext("/v1/chat/completions", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            sleep(delayMs);
+            OutputStream out = exchange.getResponseBody();
+            if (body.contains("\"stream\":true")) {
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                String[] parts = {REVIEW.substring(0, 30), REVIEW.substring(30, 60), REVIEW.substring(60)};
+                for (String part : parts) {
+                    out.write(("data: {\"choices\":[{\"delta\":{\"content\":\"" + part + "\"}}]}\n\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    sleep(delayMs / 5);
+                }
+                out.write(("data: {\"choices\":[],\"model\":\"gpt-4-stub\"," + USAGE + "}\n\ndata: [DONE]\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            } else {
+                byte[] response = ("{\"model\":\"gpt-4-stub\",\"choices\":[{\"message\":{\"content\":\"" + REVIEW
+                        + "\"}}]," + USAGE + "}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                out.write(response);
+            }
+            out.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        System.out.println("Stub provider on port " + port + ", " + delayMs + " ms per call");
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
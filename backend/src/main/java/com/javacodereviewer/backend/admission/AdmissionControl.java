@@ -0,0 +1,260 @@
+package com.javacodereviewer.backend.admission;
+
+import com.javacodereviewer.backend.model.AdmissionStatistics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for the expensive review endpoints, so an overload rejects some requests
+ * quickly instead of making every request slow.
+ *
+ * At most limit requests run at once. The limit adapts once per window: it shrinks by a tenth
+ * while the p99 latency of the window is above app.admission.target-p99-ms and grows back
+ * while requests keep reaching it. It never exceeds app.admission.max-in-flight, which stays
+ * below the servlet thread count so cheap reads, which bypass admission, always find a thread.
+ *
+ * A normal request that finds the limit reached waits up to app.admission.max-queue-wait-ms in
+ * a queue of at most app.admission.max-queued. Low-priority requests never wait: they are
+ * only admitted while no one is queued, the p99 is on target, and fewer than
+ * app.admission.low-priority-percent of the limit is in use.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private static final int MAX_SAMPLES = 1024;
+
+    public enum Priority { NORMAL, LOW }
+
+    private enum ShedReason { LIMIT, QUEUE_FULL, QUEUE_TIMEOUT, LATENCY }
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.admission.max-in-flight:150}")
+    private int maxInFlight;
+
+    @Value("${app.admission.min-in-flight:4}")
+    private int minInFlight;
+
+    @Value("${app.admission.max-queued:50}")
+    private int maxQueued;
+
+    @Value("${app.admission.max-queue-wait-ms:250}")
+    private long maxQueueWaitMs;
+
+    @Value("${app.admission.target-p99-ms:10000}")
+    private long targetP99Ms;
+
+    @Value("${app.admission.low-priority-percent:50}")
+    private int lowPriorityPercent;
+
+    @Value("${app.admission.window-ms:1000}")
+    private long windowMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Guarded by lock
+    private int limit;
+    private int inFlight;
+    private int queued;
+    private int peakInFlight;
+    private long windowStart = System.nanoTime();
+    private final long[] samples = new long[MAX_SAMPLES];
+    private int sampleCount;
+    private long queueWaitNanos;
+    private long queueWaits;
+    private long shedAtWindowStart;
+
+    private volatile long recentP99Ms;
+    private volatile double recentQueueWaitMs;
+
+    private final LongAdder admittedNormal = new LongAdder();
+    private final LongAdder admittedLow = new LongAdder();
+    private final LongAdder[] shedNormal = newCounters();
+    private final LongAdder[] shedLow = newCounters();
+
+    @PostConstruct
+    public void init() {
+        limit = maxInFlight;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admit a request, waiting up to the queue wait for normal priority when wait is true.
+     * Every admitted request must be followed by exactly one release.
+     */
+    public boolean tryAcquire(Priority priority, boolean wait) {
+        lock.lock();
+        try {
+            roll();
+            if (priority == Priority.LOW) {
+                if (queued > 0 || recentP99Ms > targetP99Ms) {
+                    return shed(priority, ShedReason.LATENCY);
+                }
+                if (inFlight >= Math.max(1, limit * lowPriorityPercent / 100)) {
+                    return shed(priority, ShedReason.LIMIT);
+                }
+                return admit(priority);
+            }
+            if (inFlight < limit && queued == 0) {
+                return admit(priority);
+            }
+            if (!wait) {
+                return shed(priority, ShedReason.LIMIT);
+            }
+            if (queued >= maxQueued) {
+                return shed(priority, ShedReason.QUEUE_FULL);
+            }
+            return awaitSlot(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the slot of an admitted request; latencyNanos is sampled for the p99 unless negative
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (latencyNanos >= 0) {
+                samples[sampleCount % MAX_SAMPLES] = latencyNanos;
+                sampleCount++;
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seconds a rejected client should wait: about the time the requests ahead of it take
+     */
+    public long retryAfterSeconds() {
+        return Math.min(30, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(recentP99Ms + 999)));
+    }
+
+    public AdmissionStatistics getStatistics() {
+        lock.lock();
+        try {
+            roll();
+            return new AdmissionStatistics(enabled, limit, maxInFlight, inFlight, queued, recentP99Ms,
+                    recentQueueWaitMs, admittedNormal.sum(), admittedLow.sum(),
+                    sum(shedNormal), sum(shedLow),
+                    shedNormal[ShedReason.LIMIT.ordinal()].sum() + shedLow[ShedReason.LIMIT.ordinal()].sum(),
+                    shedNormal[ShedReason.QUEUE_FULL.ordinal()].sum(),
+                    shedNormal[ShedReason.QUEUE_TIMEOUT.ordinal()].sum(),
+                    shedLow[ShedReason.LATENCY.ordinal()].sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitSlot(Priority priority) {
+        long start = System.nanoTime();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        queued++;
+        try {
+            while (inFlight >= limit) {
+                if (remaining <= 0) {
+                    return shed(priority, ShedReason.QUEUE_TIMEOUT);
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            queueWaitNanos += System.nanoTime() - start;
+            queueWaits++;
+            return admit(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return shed(priority, ShedReason.QUEUE_TIMEOUT);
+        } finally {
+            queued--;
+        }
+    }
+
+    private boolean admit(Priority priority) {
+        inFlight++;
+        peakInFlight = Math.max(peakInFlight, inFlight);
+        (priority == Priority.LOW ? admittedLow : admittedNormal).increment();
+        return true;
+    }
+
+    private boolean shed(Priority priority, ShedReason reason) {
+        (priority == Priority.LOW ? shedLow : shedNormal)[reason.ordinal()].increment();
+        return false;
+    }
+
+    /**
+     * Close the window once it has run its length: publish its p99 and queue wait and adapt the limit
+     */
+    private void roll() {
+        long now = System.nanoTime();
+        if (now - windowStart < TimeUnit.MILLISECONDS.toNanos(windowMs)) {
+            return;
+        }
+        int count = Math.min(sampleCount, MAX_SAMPLES);
+        if (count > 0) {
+            long[] window = Arrays.copyOf(samples, count);
+            Arrays.sort(window);
+            recentP99Ms = TimeUnit.NANOSECONDS.toMillis(window[Math.min(count - 1, (int) (count * 0.99))]);
+        } else if (inFlight == 0) {
+            recentP99Ms = 0;
+        }
+        recentQueueWaitMs = queueWaits > 0 ? queueWaitNanos / 1_000_000.0 / queueWaits : 0;
+
+        int previous = limit;
+        if (recentP99Ms > targetP99Ms) {
+            limit = Math.max(minInFlight, limit - Math.max(1, limit / 10));
+        } else if (peakInFlight >= limit) {
+            limit = Math.min(maxInFlight, limit + Math.max(1, maxInFlight / 20));
+        }
+        long shed = sum(shedNormal) + sum(shedLow);
+        if (shed > shedAtWindowStart || limit != previous) {
+            log.info("Admission: shed {} requests, limit {} -> {}, in flight {}, queued {}, p99 {} ms",
+                    shed - shedAtWindowStart, previous, limit, inFlight, queued, recentP99Ms);
+        }
+        // Slots freed by a larger limit go to waiting requests first
+        if (limit > previous) {
+            released.signalAll();
+        }
+
+        shedAtWindowStart = shed;
+        sampleCount = 0;
+        queueWaitNanos = 0;
+        queueWaits = 0;
+        peakInFlight = inFlight;
+        windowStart = now;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[ShedReason.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private static long sum(LongAdder[] counters) {
+        long total = 0;
+        for (LongAdder counter : counters) {
+            total += counter.sum();
+        }
+        return total;
+    }
+}
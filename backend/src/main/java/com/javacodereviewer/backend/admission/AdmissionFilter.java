@@ -0,0 +1,109 @@
+package com.javacodereviewer.backend.admission;
+
+import com.javacodereviewer.backend.admission.AdmissionControl.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts the expensive review endpoints behind AdmissionControl and answers 503 with Retry-After
+ * when a request is shed. Reads and deletes are not admitted and never shed.
+ */
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String PRIORITY_HEADER = "X-Priority";
+
+    static final String BUSY_BODY = "{\"success\":false,\"errorMessage\":\"Server busy, retry later\"}";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    /**
+     * Priority of an admitted endpoint, or null for requests that bypass admission. Reviews are
+     * normal unless the client marks them low; bulk import and export are always low.
+     */
+    static Priority classify(String method, String path, String priorityHeader) {
+        if ("POST".equals(method) && (path.equals("/api/reviews/review") || path.equals("/api/reviews/review/stream")
+                || path.equals("/api/reviews/upload"))) {
+            return "low".equalsIgnoreCase(priorityHeader) ? Priority.LOW : Priority.NORMAL;
+        }
+        if (("POST".equals(method) && path.equals("/api/reviews/import"))
+                || ("GET".equals(method) && path.equals("/api/reviews/export"))) {
+            return Priority.LOW;
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled()
+                || classify(request.getMethod(), request.getRequestURI(), request.getHeader(PRIORITY_HEADER)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Priority priority = classify(request.getMethod(), request.getRequestURI(), request.getHeader(PRIORITY_HEADER));
+        if (!admissionControl.tryAcquire(priority, true)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BUSY_BODY);
+            return;
+        }
+
+        // Only single reviews feed the latency window; bulk requests run for minutes by design
+        boolean sampled = request.getRequestURI().equals("/api/reviews/review");
+        long start = System.nanoTime();
+        AtomicBoolean releaseOnce = new AtomicBoolean();
+        Runnable release = () -> {
+            if (releaseOnce.compareAndSet(false, true)) {
+                admissionControl.release(sampled ? System.nanoTime() - start : -1);
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // A streamed export keeps its slot until the response is complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release.run();
+            }
+        }
+    }
+}
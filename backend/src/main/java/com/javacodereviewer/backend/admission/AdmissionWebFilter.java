@@ -0,0 +1,55 @@
+package com.javacodereviewer.backend.admission;
+
+import com.javacodereviewer.backend.admission.AdmissionControl.Priority;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * AdmissionFilter for the reactive review API. The event loop must not block, so a request
+ * that finds the limit reached is shed at once instead of queueing.
+ */
+@Component
+public class AdmissionWebFilter implements WebFilter {
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionWebFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        Priority priority = admissionControl.isEnabled()
+                ? AdmissionFilter.classify(request.getMethod().name(), path,
+                        request.getHeaders().getFirst(AdmissionFilter.PRIORITY_HEADER))
+                : null;
+        if (priority == null) {
+            return chain.filter(exchange);
+        }
+        if (!admissionControl.tryAcquire(priority, false)) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.retryAfterSeconds()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = response.bufferFactory().wrap(AdmissionFilter.BUSY_BODY.getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }
+        boolean sampled = path.equals("/api/reviews/review");
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> admissionControl.release(sampled ? System.nanoTime() - start : -1));
+    }
+}
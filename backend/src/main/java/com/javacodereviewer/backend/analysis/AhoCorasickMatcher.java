@@ -0,0 +1,166 @@
+package com.javacodereviewer.backend.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton that finds every occurrence of a fixed set of
+ * ASCII patterns in a single left-to-right pass over the input.
+ * The automaton is compiled into a dense transition table and is immutable,
+ * so one instance can be shared by all request threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 128;
+
+    private final int patternCount;
+    private final int[] patternLengths;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    public AhoCorasickMatcher(List<String> patterns) {
+        this.patternCount = patterns.size();
+        this.patternLengths = patterns.stream().mapToInt(String::length).toArray();
+
+        // Build the trie with growable per-state child tables
+        List<int[]> children = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        children.add(newChildTable());
+        stateOutputs.add(new ArrayList<>());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern at index " + id);
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Non-ASCII pattern: " + pattern);
+                }
+                int next = children.get(state)[c];
+                if (next < 0) {
+                    next = children.size();
+                    children.add(newChildTable());
+                    stateOutputs.add(new ArrayList<>());
+                    children.get(state)[c] = next;
+                }
+                state = next;
+            }
+            stateOutputs.get(state).add(id);
+        }
+
+        // Breadth-first failure links, folded directly into a full transition table
+        int stateCount = children.size();
+        int[] table = new int[stateCount * ALPHABET];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = children.get(0)[c];
+            if (child < 0) {
+                table[c] = 0;
+            } else {
+                table[c] = child;
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(failure[state]));
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = children.get(state)[c];
+                if (child < 0) {
+                    table[state * ALPHABET + c] = table[failure[state] * ALPHABET + c];
+                } else {
+                    table[state * ALPHABET + c] = child;
+                    failure[child] = table[failure[state] * ALPHABET + c];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = table;
+        this.outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            outputs[state] = stateOutputs.get(state).stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+    }
+
+    /**
+     * Scan the text once and report which patterns occur, where they first occur and how often
+     */
+    public Matches match(CharSequence text) {
+        BitSet found = new BitSet(patternCount);
+        int[] firstIndex = new int[patternCount];
+        int[] counts = new int[patternCount];
+        Arrays.fill(firstIndex, -1);
+
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            // Patterns are ASCII only, so any other character resets to the root
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            for (int id : outputs[state]) {
+                if (!found.get(id)) {
+                    found.set(id);
+                    firstIndex[id] = i - patternLengths[id] + 1;
+                }
+                counts[id]++;
+            }
+        }
+        return new Matches(found, firstIndex, counts);
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    private static int[] newChildTable() {
+        int[] table = new int[ALPHABET];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    /**
+     * Result of one scan. Pattern ids are the indices of the list the matcher was built from.
+     */
+    public static final class Matches {
+
+        private final BitSet found;
+        private final int[] firstIndex;
+        private final int[] counts;
+
+        private Matches(BitSet found, int[] firstIndex, int[] counts) {
+            this.found = found;
+            this.firstIndex = firstIndex;
+            this.counts = counts;
+        }
+
+        public boolean contains(int id) {
+            return found.get(id);
+        }
+
+        /**
+         * Start offset of the first occurrence, or -1 if the pattern does not occur
+         */
+        public int firstIndex(int id) {
+            return firstIndex[id];
+        }
+
+        public int count(int id) {
+            return counts[id];
+        }
+
+        public BitSet found() {
+            return (BitSet) found.clone();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.javacodereviewer.backend.analysis;
+
+import com.javacodereviewer.backend.model.CodeMetrics;
+
+/**
+ * Computes size and complexity metrics in one pass over the characters of a source file.
+ *
+ * The scanner is a small state machine (code, comments, string/char literals, text blocks)
+ * that tracks words by offset instead of building substrings, so nothing but the result
+ * object is allocated. Cyclomatic complexity is 1 plus the decision points
+ * (if, for, while, case, catch, &&, ||, ?) of each method body. Nesting depth counts
+ * blocks opened inside a method body. Type bodies are tracked per brace depth in a bitmask,
+ * which covers nesting up to 64 levels.
+ */
+public final class CodeMetricsCalculator {
+
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int STRING = 3;
+    private static final int CHAR = 4;
+    private static final int TEXT_BLOCK = 5;
+
+    private CodeMetricsCalculator() {}
+
+    public static CodeMetrics compute(CharSequence source) {
+        int length = source.length();
+        int state = CODE;
+
+        int totalLines = 0;
+        int codeLines = 0;
+        int commentLines = 0;
+        int blankLines = 0;
+        boolean lineHasCode = false;
+        boolean lineHasComment = false;
+
+        int depth = 0;
+        long typeBodies = 0L;
+        int methodDepth = -1;
+        int decisions = 0;
+        int methodCount = 0;
+        int fieldCount = 0;
+        int maxComplexity = 0;
+        long totalComplexity = 0;
+        int maxNesting = 0;
+
+        // Declaration state since the last ';', '{' or '}'
+        boolean pendingType = false;
+        boolean sawNew = false;
+        boolean sawAssign = false;
+        boolean parenBeforeAssign = false;
+        boolean sawToken = false;
+
+        int wordStart = -1;
+        char previous = '\0';
+
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            char next = i + 1 < length ? source.charAt(i + 1) : '\0';
+
+            // Close the word that ends here before looking at the current character
+            if (wordStart >= 0 && (state != CODE || !Character.isJavaIdentifierPart(c))) {
+                if (previousSignificant(source, wordStart - 1) != '.') {
+                    if (isWord(source, wordStart, i, "class") || isWord(source, wordStart, i, "interface")
+                            || isWord(source, wordStart, i, "enum") || isWord(source, wordStart, i, "record")) {
+                        pendingType = true;
+                    } else if (isWord(source, wordStart, i, "new")) {
+                        sawNew = true;
+                    } else if (methodDepth >= 0 && (isWord(source, wordStart, i, "if")
+                            || isWord(source, wordStart, i, "for") || isWord(source, wordStart, i, "while")
+                            || isWord(source, wordStart, i, "case") || isWord(source, wordStart, i, "catch"))) {
+                        decisions++;
+                    }
+                }
+                wordStart = -1;
+            }
+
+            if (c == '\n') {
+                totalLines++;
+                if (lineHasCode) {
+                    codeLines++;
+                }
+                if (lineHasComment) {
+                    commentLines++;
+                }
+                if (!lineHasCode && !lineHasComment) {
+                    blankLines++;
+                }
+                if (state == LINE_COMMENT) {
+                    state = CODE;
+                }
+                // Lines inside a block comment or text block belong to it even when empty
+                lineHasComment = state == BLOCK_COMMENT;
+                lineHasCode = state == TEXT_BLOCK;
+                continue;
+            }
+
+            switch (state) {
+                case LINE_COMMENT -> lineHasComment = true;
+                case BLOCK_COMMENT -> {
+                    lineHasComment = true;
+                    if (c == '*' && next == '/') {
+                        state = CODE;
+                        i++;
+                    }
+                }
+                case STRING, CHAR -> {
+                    lineHasCode = true;
+                    if (c == '\\') {
+                        i++;
+                    } else if ((state == STRING && c == '"') || (state == CHAR && c == '\'')) {
+                        state = CODE;
+                    }
+                }
+                case TEXT_BLOCK -> {
+                    lineHasCode = true;
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '"' && next == '"' && i + 2 < length && source.charAt(i + 2) == '"') {
+                        state = CODE;
+                        i += 2;
+                    }
+                }
+                default -> {
+                    if (Character.isWhitespace(c)) {
+                        continue;
+                    }
+                    if (c == '/' && next == '/') {
+                        state = LINE_COMMENT;
+                        lineHasComment = true;
+                        i++;
+                        continue;
+                    }
+                    if (c == '/' && next == '*') {
+                        state = BLOCK_COMMENT;
+                        lineHasComment = true;
+                        i++;
+                        continue;
+                    }
+
+                    lineHasCode = true;
+                    sawToken = true;
+
+                    if (c == '"') {
+                        if (next == '"' && i + 2 < length && source.charAt(i + 2) == '"') {
+                            state = TEXT_BLOCK;
+                            i += 2;
+                        } else {
+                            state = STRING;
+                        }
+                    } else if (c == '\'') {
+                        state = CHAR;
+                    } else if (Character.isJavaIdentifierStart(c)) {
+                        if (wordStart < 0 && (i == 0 || !Character.isJavaIdentifierPart(source.charAt(i - 1)))) {
+                            wordStart = i;
+                        }
+                    } else if (c == '{') {
+                        boolean inTypeBody = isTypeBody(typeBodies, depth);
+                        depth++;
+                        if (pendingType || (sawNew && methodDepth < 0)) {
+                            typeBodies = markTypeBody(typeBodies, depth);
+                        } else if (inTypeBody && methodDepth < 0 && parenBeforeAssign) {
+                            methodDepth = depth;
+                            decisions = 0;
+                        } else if (methodDepth >= 0) {
+                            maxNesting = Math.max(maxNesting, depth - methodDepth);
+                        }
+                        pendingType = sawNew = sawAssign = parenBeforeAssign = sawToken = false;
+                    } else if (c == '}') {
+                        if (depth == methodDepth) {
+                            int complexity = 1 + decisions;
+                            methodCount++;
+                            totalComplexity += complexity;
+                            maxComplexity = Math.max(maxComplexity, complexity);
+                            methodDepth = -1;
+                        }
+                        typeBodies = clearTypeBody(typeBodies, depth);
+                        depth = Math.max(0, depth - 1);
+                        pendingType = sawNew = sawAssign = parenBeforeAssign = sawToken = false;
+                    } else if (c == ';') {
+                        if (isTypeBody(typeBodies, depth) && methodDepth < 0) {
+                            if (parenBeforeAssign) {
+                                // Abstract or interface method without a body
+                                methodCount++;
+                                totalComplexity++;
+                                maxComplexity = Math.max(maxComplexity, 1);
+                            } else if (sawToken) {
+                                fieldCount++;
+                            }
+                        }
+                        pendingType = sawNew = sawAssign = parenBeforeAssign = sawToken = false;
+                    } else if (c == '(') {
+                        if (!sawAssign && previous != '@' && !isAnnotationArgument(source, i)) {
+                            parenBeforeAssign = true;
+                        }
+                    } else if (c == '=') {
+                        if (next == '=') {
+                            i++;
+                        } else if (previous != '!' && previous != '<' && previous != '>') {
+                            sawAssign = true;
+                        }
+                    } else if (methodDepth >= 0) {
+                        if ((c == '&' && next == '&') || (c == '|' && next == '|')) {
+                            decisions++;
+                            i++;
+                        } else if (c == '?' && previous != '<' && previous != ',' && previous != '(') {
+                            decisions++;
+                        }
+                    }
+                }
+            }
+            if (!Character.isWhitespace(c)) {
+                previous = c;
+            }
+        }
+
+        // A last line without a trailing newline still counts
+        if (length > 0 && source.charAt(length - 1) != '\n') {
+            totalLines++;
+            if (lineHasCode) {
+                codeLines++;
+            }
+            if (lineHasComment) {
+                commentLines++;
+            }
+            if (!lineHasCode && !lineHasComment) {
+                blankLines++;
+            }
+        }
+
+        CodeMetrics metrics = new CodeMetrics();
+        metrics.setTotalLines(totalLines);
+        metrics.setLinesOfCode(codeLines);
+        metrics.setCommentLines(commentLines);
+        metrics.setBlankLines(blankLines);
+        int nonBlank = totalLines - blankLines;
+        metrics.setCommentDensity(nonBlank > 0 ? Math.round(commentLines * 1000.0 / nonBlank) / 1000.0 : 0.0);
+        metrics.setMethodCount(methodCount);
+        metrics.setFieldCount(fieldCount);
+        metrics.setMaxCyclomaticComplexity(maxComplexity);
+        metrics.setAverageCyclomaticComplexity(methodCount > 0
+                ? Math.round(totalComplexity * 100.0 / methodCount) / 100.0 : 0.0);
+        metrics.setMaxNestingDepth(maxNesting);
+        return metrics;
+    }
+
+    /**
+     * An annotation argument list directly follows @Name, e.g. @GetMapping("/x")
+     */
+    private static boolean isAnnotationArgument(CharSequence source, int parenIndex) {
+        int i = parenIndex - 1;
+        while (i >= 0 && Character.isWhitespace(source.charAt(i))) {
+            i--;
+        }
+        while (i >= 0 && (Character.isJavaIdentifierPart(source.charAt(i)) || source.charAt(i) == '.')) {
+            i--;
+        }
+        return i >= 0 && source.charAt(i) == '@';
+    }
+
+    private static char previousSignificant(CharSequence source, int from) {
+        for (int i = from; i >= 0; i--) {
+            char c = source.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+        }
+        return '\0';
+    }
+
+    private static boolean isWord(CharSequence source, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (source.charAt(start + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTypeBody(long typeBodies, int depth) {
+        return depth > 0 && depth < 64 && (typeBodies & (1L << depth)) != 0;
+    }
+
+    private static long markTypeBody(long typeBodies, int depth) {
+        return depth < 64 ? typeBodies | (1L << depth) : typeBodies;
+    }
+
+    private static long clearTypeBody(long typeBodies, int depth) {
+        return depth < 64 ? typeBodies & ~(1L << depth) : typeBodies;
+    }
+}
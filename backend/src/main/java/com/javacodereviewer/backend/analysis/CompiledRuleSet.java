@@ -0,0 +1,142 @@
+package com.javacodereviewer.backend.analysis;
+
+import com.javacodereviewer.backend.analysis.RuleSetDefinition.ClauseDefinition;
+import com.javacodereviewer.backend.analysis.RuleSetDefinition.RuleDefinition;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, ready-to-run form of a rule file: one Aho-Corasick matcher per
+ * scope covering every literal of that scope, and rules rewritten to pattern ids.
+ */
+final class CompiledRuleSet {
+
+    private final int version;
+    private final String source;
+    private final List<CompiledRule> rules;
+    private final Map<RuleScope, AhoCorasickMatcher> matchers;
+
+    private CompiledRuleSet(int version, String source, List<CompiledRule> rules,
+                            Map<RuleScope, AhoCorasickMatcher> matchers) {
+        this.version = version;
+        this.source = source;
+        this.rules = rules;
+        this.matchers = matchers;
+    }
+
+    static CompiledRuleSet compile(RuleSetDefinition definition, String source) {
+        Map<RuleScope, Map<String, Integer>> patternIds = new EnumMap<>(RuleScope.class);
+        List<CompiledRule> rules = new ArrayList<>();
+        Set<String> ruleIds = new HashSet<>();
+
+        for (RuleDefinition rule : definition.getRules()) {
+            validate(rule, ruleIds);
+            Map<String, Integer> ids = patternIds.computeIfAbsent(rule.getScope(), scope -> new LinkedHashMap<>());
+            List<CompiledClause> clauses = new ArrayList<>();
+            for (ClauseDefinition clause : rule.getWhen()) {
+                clauses.add(new CompiledClause(
+                        toIds(clause.getAllOf(), ids),
+                        toIds(clause.getAnyOf(), ids),
+                        toIds(clause.getNoneOf(), ids),
+                        clause.getMinLength(),
+                        clause.getRegex() != null ? Pattern.compile(clause.getRegex()) : null));
+            }
+            rules.add(new CompiledRule(rule.getId(), rule.getSeverity(), rule.getCategory(),
+                    rule.getScope(), rule.getMessage(), clauses));
+        }
+
+        Map<RuleScope, AhoCorasickMatcher> matchers = new EnumMap<>(RuleScope.class);
+        patternIds.forEach((scope, ids) -> matchers.put(scope, new AhoCorasickMatcher(new ArrayList<>(ids.keySet()))));
+        return new CompiledRuleSet(definition.getVersion(), source, List.copyOf(rules), matchers);
+    }
+
+    private static void validate(RuleDefinition rule, Set<String> ruleIds) {
+        if (rule.getId() == null || rule.getId().isBlank()) {
+            throw new IllegalArgumentException("Rule without id");
+        }
+        if (!ruleIds.add(rule.getId())) {
+            throw new IllegalArgumentException("Duplicate rule id: " + rule.getId());
+        }
+        if (rule.getSeverity() == null || rule.getScope() == null || rule.getMessage() == null) {
+            throw new IllegalArgumentException("Rule " + rule.getId() + " needs a severity, scope and message");
+        }
+        if (rule.getWhen().isEmpty()) {
+            throw new IllegalArgumentException("Rule " + rule.getId() + " has no conditions");
+        }
+    }
+
+    private static int[] toIds(List<String> patterns, Map<String, Integer> ids) {
+        return patterns.stream()
+                .mapToInt(pattern -> ids.computeIfAbsent(pattern, p -> ids.size()))
+                .toArray();
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    Map<RuleScope, AhoCorasickMatcher> getMatchers() {
+        return matchers;
+    }
+
+    record CompiledRule(String id, Severity severity, String category, RuleScope scope,
+                        String message, List<CompiledClause> clauses) {
+
+        boolean matches(String scopedText, AhoCorasickMatcher.Matches matches) {
+            for (CompiledClause clause : clauses) {
+                if (clause.matches(scopedText, matches)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record CompiledClause(int[] allOf, int[] anyOf, int[] noneOf, int minLength, Pattern regex) {
+
+        boolean matches(String scopedText, AhoCorasickMatcher.Matches matches) {
+            if (scopedText.length() < minLength) {
+                return false;
+            }
+            for (int id : allOf) {
+                if (!matches.contains(id)) {
+                    return false;
+                }
+            }
+            if (anyOf.length > 0) {
+                boolean any = false;
+                for (int id : anyOf) {
+                    if (matches.contains(id)) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (!any) {
+                    return false;
+                }
+            }
+            for (int id : noneOf) {
+                if (matches.contains(id)) {
+                    return false;
+                }
+            }
+            // Regexes are the expensive part, so they only run once every literal condition holds
+            return regex == null || regex.matcher(scopedText).find();
+        }
+    }
+}
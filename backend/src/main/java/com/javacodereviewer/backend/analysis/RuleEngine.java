@@ -0,0 +1,199 @@
+package com.javacodereviewer.backend.analysis;
+
+import com.google.gson.Gson;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the declarative local analysis rules loaded from app.rules.location.
+ *
+ * The compiled rule set is published through an AtomicReference: a reload builds
+ * a complete new set and swaps it in, while reviews already running keep the
+ * snapshot they started with. Evaluation time is tracked per rule.
+ */
+@Service
+public class RuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleEngine.class);
+
+    private final ResourceLoader resourceLoader;
+    private final Gson gson = new Gson();
+    private final AtomicReference<CompiledRuleSet> ruleSet = new AtomicReference<>();
+    private final ConcurrentHashMap<String, RuleTimer> timers = new ConcurrentHashMap<>();
+
+    @Value("${app.rules.location:classpath:rules/local-rules.json}")
+    private String location;
+
+    private volatile long lastModified = -1;
+
+    public RuleEngine(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        reload();
+    }
+
+    /**
+     * Load, compile and atomically publish the rule file
+     */
+    public synchronized int reload() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        long modified = resource.isFile() ? resource.lastModified() : -1;
+
+        RuleSetDefinition definition;
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            definition = gson.fromJson(reader, RuleSetDefinition.class);
+        }
+        CompiledRuleSet compiled = CompiledRuleSet.compile(definition, location);
+        CompiledRuleSet previous = ruleSet.getAndSet(compiled);
+        lastModified = modified;
+
+        Set<String> liveTimers = new HashSet<>();
+        compiled.getRules().forEach(rule -> liveTimers.add(rule.id()));
+        compiled.getMatchers().keySet().forEach(scope -> liveTimers.add(scanTimerName(scope)));
+        timers.keySet().retainAll(liveTimers);
+
+        log.info("Loaded {} local analysis rules, version {} (previous version {}) from {}",
+                compiled.getRules().size(), compiled.getVersion(),
+                previous != null ? previous.getVersion() : "none", location);
+        return compiled.getVersion();
+    }
+
+    /**
+     * Pick up edits to a file-based rule set without a restart
+     */
+    @Scheduled(fixedDelayString = "${app.rules.reload-interval-ms:5000}")
+    public void reloadIfChanged() {
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            if (resource.isFile() && resource.lastModified() != lastModified) {
+                reload();
+            }
+        } catch (Exception e) {
+            // Keep serving the last good rule set
+            log.error("Failed to reload local analysis rules from {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Run every rule against the source
+     */
+    public RuleEvaluation evaluate(String code) {
+        CompiledRuleSet rules = ruleSet.get();
+        RuleEvaluation evaluation = new RuleEvaluation(rules.getVersion());
+
+        Map<RuleScope, String> views = new EnumMap<>(RuleScope.class);
+        Map<RuleScope, AhoCorasickMatcher.Matches> matches = new EnumMap<>(RuleScope.class);
+        rules.getMatchers().forEach((scope, matcher) -> {
+            long start = System.nanoTime();
+            String view = scope.view(code);
+            views.put(scope, view);
+            matches.put(scope, matcher.match(view));
+            timer(scanTimerName(scope)).record(System.nanoTime() - start, true);
+        });
+
+        for (CompiledRuleSet.CompiledRule rule : rules.getRules()) {
+            long start = System.nanoTime();
+            boolean hit = rule.matches(views.get(rule.scope()), matches.get(rule.scope()));
+            timer(rule.id()).record(System.nanoTime() - start, hit);
+            if (hit) {
+                evaluation.add(rule.severity(), rule.message());
+            }
+        }
+        return evaluation;
+    }
+
+    /**
+     * Describe the rule set currently in use
+     */
+    public Map<String, Object> describe() {
+        CompiledRuleSet rules = ruleSet.get();
+        List<Map<String, Object>> ruleList = new ArrayList<>();
+        for (CompiledRuleSet.CompiledRule rule : rules.getRules()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", rule.id());
+            entry.put("severity", rule.severity());
+            entry.put("category", rule.category());
+            entry.put("scope", rule.scope());
+            entry.put("message", rule.message());
+            ruleList.add(entry);
+        }
+
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", rules.getVersion());
+        description.put("source", rules.getSource());
+        description.put("rules", ruleList);
+        return description;
+    }
+
+    /**
+     * Per-rule evaluation statistics, most expensive first
+     */
+    public List<RuleStats> getStats() {
+        List<RuleStats> stats = new ArrayList<>();
+        timers.forEach((name, timer) -> {
+            long evaluations = timer.evaluations.sum();
+            long totalNanos = timer.totalNanos.sum();
+            stats.add(new RuleStats(name, evaluations, timer.hits.sum(), totalNanos,
+                    evaluations > 0 ? totalNanos / evaluations : 0, timer.maxNanos.get()));
+        });
+        stats.sort(Comparator.comparingLong(RuleStats::totalNanos).reversed());
+        return stats;
+    }
+
+    private RuleTimer timer(String name) {
+        RuleTimer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new RuleTimer());
+    }
+
+    private static String scanTimerName(RuleScope scope) {
+        return "scan:" + scope.name().toLowerCase();
+    }
+
+    private static final class RuleTimer {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos, boolean hit) {
+            evaluations.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (hit) {
+                hits.increment();
+            }
+        }
+    }
+
+    /**
+     * Evaluation statistics of one rule (or of the shared scan of one scope)
+     */
+    public record RuleStats(String rule, long evaluations, long hits, long totalNanos,
+                            long averageNanos, long maxNanos) {}
+}
@@ -0,0 +1,34 @@
+package com.javacodereviewer.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Findings produced by one rule engine run, grouped by severity in rule file order
+ */
+public class RuleEvaluation {
+
+    private final int ruleSetVersion;
+    private final Map<Severity, List<String>> findings = new EnumMap<>(Severity.class);
+
+    public RuleEvaluation(int ruleSetVersion) {
+        this.ruleSetVersion = ruleSetVersion;
+        for (Severity severity : Severity.values()) {
+            findings.put(severity, new ArrayList<>());
+        }
+    }
+
+    void add(Severity severity, String message) {
+        findings.get(severity).add(message);
+    }
+
+    public int getRuleSetVersion() {
+        return ruleSetVersion;
+    }
+
+    public List<String> get(Severity severity) {
+        return findings.get(severity);
+    }
+}
@@ -0,0 +1,81 @@
+package com.javacodereviewer.backend.analysis;
+
+/**
+ * Part of the source a rule's patterns are matched against
+ */
+public enum RuleScope {
+
+    /** The source exactly as submitted */
+    FILE,
+
+    /** The source with comments and string/char literals blanked out */
+    CODE,
+
+    /** Only the text of comments */
+    COMMENTS;
+
+    /**
+     * Produce the view of the source this scope matches against.
+     * Blanked characters become spaces so offsets stay aligned with the original.
+     */
+    public String view(String source) {
+        if (this == FILE) {
+            return source;
+        }
+        boolean keepComments = this == COMMENTS;
+        char[] out = new char[source.length()];
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            char next = i + 1 < length ? source.charAt(i + 1) : '\0';
+            if (c == '/' && next == '/') {
+                int end = source.indexOf('\n', i);
+                end = end < 0 ? length : end;
+                copy(source, out, i, end, keepComments);
+                i = end;
+            } else if (c == '/' && next == '*') {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                copy(source, out, i, end, keepComments);
+                i = end;
+            } else if (c == '"' || c == '\'') {
+                int end = literalEnd(source, i);
+                copy(source, out, i, end, false);
+                i = end;
+            } else {
+                out[i] = keepComments ? (c == '\n' ? '\n' : ' ') : c;
+                i++;
+            }
+        }
+        return new String(out);
+    }
+
+    private static int literalEnd(String source, int start) {
+        int length = source.length();
+        if (source.startsWith("\"\"\"", start)) {
+            int end = source.indexOf("\"\"\"", start + 3);
+            return end < 0 ? length : end + 3;
+        }
+        char quote = source.charAt(start);
+        int i = start + 1;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static void copy(String source, char[] out, int from, int to, boolean keep) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            out[i] = keep || c == '\n' ? c : ' ';
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.javacodereviewer.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rule file format, read with Gson.
+ *
+ * A rule fires when any of its "when" clauses holds. A clause holds when all of
+ * its conditions hold: every allOf pattern occurs, at least one anyOf pattern
+ * occurs (if any are listed), no noneOf pattern occurs, the source is at least
+ * minLength characters long and the optional regex finds a match.
+ */
+public class RuleSetDefinition {
+
+    private int version;
+    private List<RuleDefinition> rules = new ArrayList<>();
+
+    public int getVersion() {
+        return version;
+    }
+
+    public List<RuleDefinition> getRules() {
+        return rules;
+    }
+
+    /**
+     * A single declarative rule
+     */
+    public static class RuleDefinition {
+
+        private String id;
+        private Severity severity;
+        private String category;
+        private RuleScope scope = RuleScope.FILE;
+        private String message;
+        private List<ClauseDefinition> when = new ArrayList<>();
+
+        public String getId() {
+            return id;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public RuleScope getScope() {
+            return scope;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public List<ClauseDefinition> getWhen() {
+            return when;
+        }
+    }
+
+    /**
+     * Conjunction of pattern conditions
+     */
+    public static class ClauseDefinition {
+
+        private List<String> allOf = new ArrayList<>();
+        private List<String> anyOf = new ArrayList<>();
+        private List<String> noneOf = new ArrayList<>();
+        private int minLength;
+        private String regex;
+
+        public List<String> getAllOf() {
+            return allOf;
+        }
+
+        public List<String> getAnyOf() {
+            return anyOf;
+        }
+
+        public List<String> getNoneOf() {
+            return noneOf;
+        }
+
+        public int getMinLength() {
+            return minLength;
+        }
+
+        public String getRegex() {
+            return regex;
+        }
+    }
+}
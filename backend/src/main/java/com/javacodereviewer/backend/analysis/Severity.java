@@ -0,0 +1,11 @@
+package com.javacodereviewer.backend.analysis;
+
+/**
+ * Which list of a review a finding belongs to
+ */
+public enum Severity {
+    ERROR,
+    WARNING,
+    SUGGESTION,
+    GOOD_PRACTICE
+}
@@ -0,0 +1,37 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-task view of the shared compilation unit. Each fork-join task gets its own
+ * context, so findings are collected without synchronization and merged afterwards.
+ */
+public class AstContext {
+
+    private final CompilationUnitTree unit;
+    private final SourcePositions positions;
+    private final List<AstFinding> findings = new ArrayList<>();
+
+    AstContext(CompilationUnitTree unit, SourcePositions positions) {
+        this.unit = unit;
+        this.positions = positions;
+    }
+
+    public void report(AstRule rule, Tree tree, String message) {
+        findings.add(new AstFinding(rule.id(), rule.severity(), lineOf(tree), message));
+    }
+
+    public long lineOf(Tree tree) {
+        long position = positions.getStartPosition(unit, tree);
+        return position >= 0 ? unit.getLineMap().getLineNumber(position) : -1;
+    }
+
+    List<AstFinding> getFindings() {
+        return findings;
+    }
+}
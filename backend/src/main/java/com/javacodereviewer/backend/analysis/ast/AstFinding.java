@@ -0,0 +1,16 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+
+/**
+ * A finding reported by an AST rule, anchored to a source line
+ */
+public record AstFinding(String ruleId, Severity severity, long line, String message) {
+
+    /**
+     * Message as shown in a review, prefixed with its line number
+     */
+    public String describe() {
+        return line > 0 ? "Line " + line + ": " + message : message;
+    }
+}
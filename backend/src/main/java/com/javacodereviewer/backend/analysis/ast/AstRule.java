@@ -0,0 +1,17 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.ClassTree;
+
+/**
+ * A check that runs over the syntax tree of one top-level type.
+ * Rules are stateless; any per-run state lives in the scanner they create in check().
+ */
+public interface AstRule {
+
+    String id();
+
+    Severity severity();
+
+    void check(ClassTree type, AstContext context);
+}
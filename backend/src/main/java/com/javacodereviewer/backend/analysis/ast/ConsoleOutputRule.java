@@ -0,0 +1,50 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.util.TreeScanner;
+
+/**
+ * Flags System.out / System.err calls, reported once per type with an occurrence count
+ */
+public class ConsoleOutputRule implements AstRule {
+
+    @Override
+    public String id() {
+        return "console-output";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.WARNING;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        MethodInvocationTree[] first = new MethodInvocationTree[1];
+        int[] count = new int[1];
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (node.getMethodSelect() instanceof MemberSelectTree method
+                        && method.getExpression() instanceof MemberSelectTree stream) {
+                    String target = stream.toString();
+                    if (target.equals("System.out") || target.equals("System.err")) {
+                        if (first[0] == null) {
+                            first[0] = node;
+                        }
+                        count[0]++;
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(type, null);
+
+        if (first[0] != null) {
+            context.report(this, first[0], "Direct console output in " + type.getSimpleName()
+                    + " (" + count[0] + " call(s)). Consider using a logging framework like SLF4J.");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.util.TreeScanner;
+
+/**
+ * Flags catch blocks that contain no statements and silently swallow the exception
+ */
+public class EmptyCatchBlockRule implements AstRule {
+
+    @Override
+    public String id() {
+        return "empty-catch-block";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.ERROR;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitCatch(CatchTree node, Void unused) {
+                if (node.getBlock().getStatements().isEmpty()) {
+                    context.report(EmptyCatchBlockRule.this, node,
+                            "Empty catch block swallows " + node.getParameter().getType()
+                                    + ". Log or handle the exception.");
+                }
+                return super.visitCatch(node, unused);
+            }
+        }.scan(type, null);
+    }
+}
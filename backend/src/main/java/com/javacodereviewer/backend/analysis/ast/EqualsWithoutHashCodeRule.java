@@ -0,0 +1,49 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+
+/**
+ * Flags classes that override equals(Object) without overriding hashCode()
+ */
+public class EqualsWithoutHashCodeRule implements AstRule {
+
+    @Override
+    public String id() {
+        return "equals-without-hashcode";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.ERROR;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                MethodTree equals = null;
+                boolean hashCode = false;
+                for (Tree member : node.getMembers()) {
+                    if (member instanceof MethodTree method) {
+                        String name = method.getName().toString();
+                        if (name.equals("equals") && method.getParameters().size() == 1) {
+                            equals = method;
+                        } else if (name.equals("hashCode") && method.getParameters().isEmpty()) {
+                            hashCode = true;
+                        }
+                    }
+                }
+                if (equals != null && !hashCode) {
+                    context.report(EqualsWithoutHashCodeRule.this, equals, node.getSimpleName()
+                            + " overrides equals() but not hashCode(). Equal objects must have equal hash codes.");
+                }
+                return super.visitClass(node, unused);
+            }
+        }.scan(type, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.util.TreeScanner;
+
+import java.util.Set;
+
+/**
+ * Flags catch clauses for Exception, RuntimeException or Throwable
+ */
+public class GenericCatchRule implements AstRule {
+
+    private static final Set<String> GENERIC_TYPES = Set.of(
+            "Exception", "java.lang.Exception",
+            "RuntimeException", "java.lang.RuntimeException",
+            "Throwable", "java.lang.Throwable");
+
+    @Override
+    public String id() {
+        return "generic-catch";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.WARNING;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitCatch(CatchTree node, Void unused) {
+                String caught = node.getParameter().getType().toString();
+                if (GENERIC_TYPES.contains(caught)) {
+                    context.report(GenericCatchRule.this, node,
+                            "Catching " + caught + " hides specific failures. Catch the exceptions you can handle.");
+                }
+                return super.visitCatch(node, unused);
+            }
+        }.scan(type, null);
+    }
+}
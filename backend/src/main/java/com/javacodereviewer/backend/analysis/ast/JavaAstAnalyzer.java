@@ -0,0 +1,182 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.Trees;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Local analyzer built on the JDK compiler tree API.
+ *
+ * The source is parsed once (no attribution, so it is fast and needs no classpath)
+ * and every AstRule scans the same tree. Sources above app.analysis.ast.parallel-threshold
+ * characters are split by top-level type across a fork-join pool.
+ */
+@Service
+public class JavaAstAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(JavaAstAnalyzer.class);
+
+    private static final int MAX_SYNTAX_ERRORS = 5;
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    private final List<AstRule> rules = List.of(
+            new StringReferenceEqualityRule(),
+            new EmptyCatchBlockRule(),
+            new GenericCatchRule(),
+            new ConsoleOutputRule(),
+            new EqualsWithoutHashCodeRule(),
+            new MutableStaticFieldRule());
+    private final ForkJoinPool pool;
+
+    @Value("${app.analysis.ast.parallel-threshold:8000}")
+    private int parallelThreshold;
+
+    public JavaAstAnalyzer(@Value("${app.analysis.ast.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        if (compiler == null) {
+            log.warn("No system Java compiler available (running on a JRE); AST analysis is disabled");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Parse the source and run every rule; findings are ordered by severity, then line
+     */
+    public List<AstFinding> analyze(String code) {
+        if (compiler == null) {
+            return List.of();
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavacTask task = (JavacTask) compiler.getTask(null, null, diagnostics,
+                List.of("-proc:none"), null, List.of(new SourceFile(code)));
+
+        List<CompilationUnitTree> units = new ArrayList<>();
+        try {
+            task.parse().forEach(units::add);
+        } catch (IOException e) {
+            log.debug("AST parse failed: {}", e.getMessage());
+            return List.of();
+        }
+
+        List<AstFinding> findings = new ArrayList<>(syntaxErrors(diagnostics));
+        SourcePositions positions = Trees.instance(task).getSourcePositions();
+        for (CompilationUnitTree unit : units) {
+            List<ClassTree> types = new ArrayList<>();
+            for (Tree declaration : unit.getTypeDecls()) {
+                if (declaration instanceof ClassTree type) {
+                    types.add(type);
+                }
+            }
+            if (code.length() >= parallelThreshold && types.size() > 1) {
+                findings.addAll(pool.invoke(new TypeBatchTask(unit, positions, types)));
+            } else {
+                findings.addAll(analyzeTypes(unit, positions, types));
+            }
+        }
+
+        findings.sort(Comparator.comparing(AstFinding::severity).thenComparingLong(AstFinding::line));
+        return findings;
+    }
+
+    public List<AstRule> getRules() {
+        return rules;
+    }
+
+    private List<AstFinding> analyzeTypes(CompilationUnitTree unit, SourcePositions positions, List<ClassTree> types) {
+        AstContext context = new AstContext(unit, positions);
+        for (ClassTree type : types) {
+            for (AstRule rule : rules) {
+                rule.check(type, context);
+            }
+        }
+        return context.getFindings();
+    }
+
+    private List<AstFinding> syntaxErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<AstFinding> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && errors.size() < MAX_SYNTAX_ERRORS) {
+                errors.add(new AstFinding("syntax-error", Severity.ERROR, diagnostic.getLineNumber(),
+                        "Syntax error: " + diagnostic.getMessage(Locale.ENGLISH)));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Splits the top-level types of one compilation unit in halves until a single type remains
+     */
+    private class TypeBatchTask extends RecursiveTask<List<AstFinding>> {
+
+        private final CompilationUnitTree unit;
+        private final SourcePositions positions;
+        private final List<ClassTree> types;
+
+        TypeBatchTask(CompilationUnitTree unit, SourcePositions positions, List<ClassTree> types) {
+            this.unit = unit;
+            this.positions = positions;
+            this.types = types;
+        }
+
+        @Override
+        protected List<AstFinding> compute() {
+            if (types.size() == 1) {
+                return analyzeTypes(unit, positions, types);
+            }
+            int middle = types.size() / 2;
+            TypeBatchTask left = new TypeBatchTask(unit, positions, types.subList(0, middle));
+            TypeBatchTask right = new TypeBatchTask(unit, positions, types.subList(middle, types.size()));
+            left.fork();
+            List<AstFinding> findings = new ArrayList<>(right.compute());
+            findings.addAll(0, left.join());
+            return findings;
+        }
+    }
+
+    /**
+     * In-memory source handed to javac
+     */
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String code;
+
+        SourceFile(String code) {
+            super(URI.create("string:///Review.java"), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+
+import javax.lang.model.element.Modifier;
+import java.util.Set;
+
+/**
+ * Flags public static fields that are not final, which any code can reassign
+ */
+public class MutableStaticFieldRule implements AstRule {
+
+    @Override
+    public String id() {
+        return "mutable-static-field";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.WARNING;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                if (node.getKind() == Tree.Kind.CLASS || node.getKind() == Tree.Kind.ENUM) {
+                    for (Tree member : node.getMembers()) {
+                        if (member instanceof VariableTree field) {
+                            Set<Modifier> flags = field.getModifiers().getFlags();
+                            if (flags.contains(Modifier.PUBLIC) && flags.contains(Modifier.STATIC)
+                                    && !flags.contains(Modifier.FINAL)) {
+                                context.report(MutableStaticFieldRule.this, field, "Field " + field.getName()
+                                        + " is public static but not final. Make it final or encapsulate it.");
+                            }
+                        }
+                    }
+                }
+                return super.visitClass(node, unused);
+            }
+        }.scan(type, null);
+    }
+}
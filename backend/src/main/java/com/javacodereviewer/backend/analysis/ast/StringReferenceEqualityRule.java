@@ -0,0 +1,71 @@
+package com.javacodereviewer.backend.analysis.ast;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Flags == and != where an operand is a string literal or a variable declared as String.
+ * Comparisons against null are fine and are not reported.
+ */
+public class StringReferenceEqualityRule implements AstRule {
+
+    @Override
+    public String id() {
+        return "string-reference-equality";
+    }
+
+    @Override
+    public Severity severity() {
+        return Severity.ERROR;
+    }
+
+    @Override
+    public void check(ClassTree type, AstContext context) {
+        // Without attribution there are no types, so collect names declared as String first
+        Set<String> stringNames = new HashSet<>();
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                String typeName = node.getType() != null ? node.getType().toString() : "";
+                if (typeName.equals("String") || typeName.equals("java.lang.String")) {
+                    stringNames.add(node.getName().toString());
+                }
+                return super.visitVariable(node, unused);
+            }
+        }.scan(type, null);
+
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitBinary(BinaryTree node, Void unused) {
+                if ((node.getKind() == Tree.Kind.EQUAL_TO || node.getKind() == Tree.Kind.NOT_EQUAL_TO)
+                        && !isNull(node.getLeftOperand()) && !isNull(node.getRightOperand())
+                        && (isString(node.getLeftOperand()) || isString(node.getRightOperand()))) {
+                    context.report(StringReferenceEqualityRule.this, node,
+                            "String comparison using '" + (node.getKind() == Tree.Kind.EQUAL_TO ? "==" : "!=")
+                                    + "' instead of '.equals()'. This can cause unexpected behavior.");
+                }
+                return super.visitBinary(node, unused);
+            }
+
+            private boolean isString(ExpressionTree operand) {
+                return operand.getKind() == Tree.Kind.STRING_LITERAL
+                        || operand instanceof IdentifierTree identifier
+                        && stringNames.contains(identifier.getName().toString());
+            }
+
+            private boolean isNull(ExpressionTree operand) {
+                return operand instanceof LiteralTree && operand.getKind() == Tree.Kind.NULL_LITERAL;
+            }
+        }.scan(type, null);
+    }
+}
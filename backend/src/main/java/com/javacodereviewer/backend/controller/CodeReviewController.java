@@ -1,21 +1,73 @@
 package com.javacodereviewer.backend.controller;
 
+import com.javacodereviewer.backend.admission.AdmissionControl;
 import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.jobs.ReviewJobQueue;
+import com.javacodereviewer.backend.jobs.ReviewJobWorker;
+import com.javacodereviewer.backend.model.AdmissionStatistics;
+import com.javacodereviewer.backend.model.CacheRegionStatistics;
 import com.javacodereviewer.backend.model.CodeReviewRequest;
 import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.model.MonthlyReviewStatistics;
+import com.javacodereviewer.backend.model.ReviewImportResult;
+import com.javacodereviewer.backend.model.ReviewJob;
+import com.javacodereviewer.backend.model.ReviewPage;
+import com.javacodereviewer.backend.model.ReviewStatistics;
+import com.javacodereviewer.backend.model.ReviewSummary;
 import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import com.javacodereviewer.backend.search.ReviewSearchIndex;
 import com.javacodereviewer.backend.service.AIReviewService;
+import com.javacodereviewer.backend.service.RecentReviewBuffer;
+import com.javacodereviewer.backend.service.ReviewCachePolicy;
+import com.javacodereviewer.backend.service.ReviewCacheService;
+import com.javacodereviewer.backend.service.ReviewChangeTracker;
+import com.javacodereviewer.backend.service.ReviewExportService;
+import com.javacodereviewer.backend.service.ReviewIdempotencyService;
+import com.javacodereviewer.backend.service.ReviewImportService;
+import com.javacodereviewer.backend.service.ReviewRecorder;
+import com.javacodereviewer.backend.service.ReviewResponseStore;
+import com.javacodereviewer.backend.service.ReviewRetentionService;
+import com.javacodereviewer.backend.service.ReviewStatisticsService;
+import com.javacodereviewer.backend.service.ReviewWriteBehindQueue;
+import com.javacodereviewer.backend.service.SourceBlobStore;
+import com.google.gson.JsonParseException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for code review operations
@@ -25,18 +77,171 @@ import java.util.HashMap;
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
 public class CodeReviewController {
     
+    // Later than any stored review, so the first page needs no separate query
+    private static final LocalDateTime FIRST_PAGE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
+    // Reviews are never modified after they are stored; lists must be revalidated on every use
+    private static final CacheControl LIST_CACHE = CacheControl.noCache().cachePrivate();
+    
     @Autowired
     private AIReviewService aiReviewService;
     
     @Autowired
     private CodeReviewRepository codeReviewRepository;
     
+    @Autowired
+    private Tracer tracer;
+    
+    @Autowired
+    private ReviewSearchIndex reviewSearchIndex;
+    
+    @Autowired
+    private ReviewStatisticsService reviewStatisticsService;
+    
+    @Autowired
+    private ReviewWriteBehindQueue reviewWriteBehindQueue;
+    
+    @Autowired
+    private SourceBlobStore sourceBlobStore;
+    
+    @Autowired
+    private ReviewRetentionService reviewRetentionService;
+    
+    @Autowired
+    private RecentReviewBuffer recentReviewBuffer;
+    
+    @Autowired
+    private ReviewExportService reviewExportService;
+    
+    @Autowired
+    private ReviewChangeTracker reviewChangeTracker;
+    
+    @Autowired
+    private ReviewResponseStore reviewResponseStore;
+    
+    @Autowired
+    private ReviewImportService reviewImportService;
+    
+    @Autowired
+    private ReviewCacheService reviewCacheService;
+    
+    @Autowired
+    private ReviewRecorder reviewRecorder;
+    
+    @Autowired
+    private AdmissionControl admissionControl;
+    
+    @Autowired
+    private ReviewIdempotencyService reviewIdempotencyService;
+    
+    @Autowired
+    private ReviewJobQueue reviewJobQueue;
+    
+    @Autowired
+    private ReviewJobWorker reviewJobWorker;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ReviewCachePolicy reviewCachePolicy;
+    
+    @Value("${app.reviews.page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${app.reviews.max-page-size:100}")
+    private int maxPageSize;
+    
+    @Value("${app.upload.max-source-size:10MB}")
+    private DataSize maxUploadSize;
+    
     /**
      * Review Java code using AI
      */
     @PostMapping("/review")
-    public ResponseEntity<CodeReviewResponse> reviewCode(@Valid @RequestBody CodeReviewRequest request) {
+    public ResponseEntity<CodeReviewResponse> reviewCode(@Valid @RequestBody CodeReviewRequest request,
+            @RequestHeader(value = "X-Client-Id", defaultValue = "anonymous") String clientId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        checkClientId(clientId);
+        if (idempotencyKey != null) {
+            return reviewIdempotencyService.execute(clientId, idempotencyKey, request,
+                    () -> review("CodeReviewController.reviewCode", request, clientId, null));
+        }
+        return review("CodeReviewController.reviewCode", request, clientId, null);
+    }
+    
+    /**
+     * Review a source file sent as the raw UTF-8 request body. The body is read as it arrives,
+     * so files too large for a JSON request can be reviewed without buffering it first.
+     */
+    @PostMapping(value = "/upload", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CodeReviewResponse> uploadSource(InputStream body,
+            @RequestParam(defaultValue = AIReviewService.LOCAL_PROVIDER) String aiProvider,
+            @RequestParam(required = false) String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = "X-Client-Id", defaultValue = "anonymous") String clientId) throws IOException {
+        return reviewUpload(body, contentLength != null ? contentLength : -1, aiProvider, fileName, clientId);
+    }
+    
+    /**
+     * Review a source file sent as the "file" part of a multipart form. The container spools
+     * the part to disk, and it is read from there in chunks.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CodeReviewResponse> uploadSourceFile(@RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = AIReviewService.LOCAL_PROVIDER) String aiProvider,
+            @RequestParam(required = false) String fileName,
+            @RequestHeader(value = "X-Client-Id", defaultValue = "anonymous") String clientId) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return reviewUpload(in, file.getSize(), aiProvider,
+                    fileName != null ? fileName : file.getOriginalFilename(), clientId);
+        }
+    }
+    
+    private ResponseEntity<CodeReviewResponse> reviewUpload(InputStream in, long length, String aiProvider,
+                                                           String fileName, String clientId) throws IOException {
+        checkClientId(clientId);
+        if (fileName != null && fileName.length() > CodeReviewRequest.MAX_FILE_NAME_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "File name must not exceed " + CodeReviewRequest.MAX_FILE_NAME_LENGTH + " characters");
+        }
+        if (length > maxUploadSize.toBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Source exceeds " + maxUploadSize);
+        }
+        SourceBlobStore.StreamedSource source;
         try {
+            source = SourceBlobStore.read(in, maxUploadSize.toBytes(), length);
+        } catch (SourceBlobStore.SourceTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Source exceeds " + maxUploadSize);
+        }
+        if (source.text().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Code content is required");
+        }
+        // Remote providers get the same limit as a JSON request; the prompt has to fit their context
+        if (!AIReviewService.LOCAL_PROVIDER.equals(aiProvider) && source.text().length() > CodeReviewRequest.MAX_CODE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Code content must not exceed " + CodeReviewRequest.MAX_CODE_LENGTH + " characters for " + aiProvider);
+        }
+        return review("CodeReviewController.uploadSource",
+                new CodeReviewRequest(source.text(), aiProvider, fileName), clientId, source);
+    }
+    
+    /**
+     * Rejected up front; a queued review with an oversized client id could not be stored
+     */
+    private static void checkClientId(String clientId) {
+        if (clientId.length() > CodeReviewRequest.MAX_CLIENT_ID_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "X-Client-Id must not exceed " + CodeReviewRequest.MAX_CLIENT_ID_LENGTH + " characters");
+        }
+    }
+    
+    private ResponseEntity<CodeReviewResponse> review(String spanName, CodeReviewRequest request, String clientId,
+                                                      SourceBlobStore.StreamedSource source) {
+        Span span = tracer.spanBuilder(spanName)
+                .setAttribute("review.provider", request.getAiProvider())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
             // Perform AI review
             CodeReviewResponse response = aiReviewService.reviewCode(
                 request.getCode(), 
@@ -45,90 +250,214 @@ public class CodeReviewController {
             );
             
             // Save to database
-            CodeReview review = new CodeReview();
-            review.setCodeContent(request.getCode());
-            review.setSummary(response.getSummary());
-            review.setErrors(response.getErrors());
-            review.setWarnings(response.getWarnings());
-            review.setSuggestions(response.getSuggestions());
-            review.setGoodPractices(response.getGoodPractices());
-            review.setAiProvider(request.getAiProvider());
-            review.setFileName(request.getFileName());
-            review.setTotalIssues(response.getTotalIssues());
-            
-            CodeReview savedReview = codeReviewRepository.save(review);
-            response.setId(savedReview.getId());
+            reviewRecorder.record(request, response, clientId, source);
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
             CodeReviewResponse errorResponse = new CodeReviewResponse();
             errorResponse.setSuccess(false);
             errorResponse.setErrorMessage("Error during code review: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        } finally {
+            span.end();
         }
     }
     
     /**
-     * Get all reviews
+     * Queue a review for whichever backend instance has a free worker; poll the job for the result
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ReviewJob> submitReviewJob(@Valid @RequestBody CodeReviewRequest request,
+            @RequestHeader(value = "X-Client-Id", defaultValue = "anonymous") String clientId) {
+        checkClientId(clientId);
+        ReviewJob job = reviewJobQueue.enqueue(request, clientId);
+        reviewJobWorker.wakeUp();
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/reviews/jobs/" + job.getId())
+                .body(job);
+    }
+    
+    /**
+     * Get a review job; reviewId is set once it is done
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReviewJob> getReviewJob(@PathVariable Long id) {
+        return reviewJobQueue.find(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get reviews newest first, one keyset page at a time
      */
     @GetMapping
-    public ResponseEntity<List<CodeReviewResponse>> getAllReviews() {
-        List<CodeReview> reviews = codeReviewRepository.findAll();
-        List<CodeReviewResponse> responses = reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<ReviewPage> getAllReviews(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer size,
+                                                    WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(LIST_CACHE)
+                .body(fetchPage(cursor, size, codeReviewRepository::findSummariesBefore));
     }
     
     /**
-     * Get review by ID
+     * Get review by ID, served from its stored pre-serialized JSON
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CodeReviewResponse> getReviewById(@PathVariable Long id) {
-        Optional<CodeReview> review = codeReviewRepository.findById(id);
-        if (review.isPresent()) {
-            return ResponseEntity.ok(convertToResponse(review.get()));
-        } else {
+    public ResponseEntity<byte[]> getReviewById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        // Existence first so an unknown id is a 404 and not a 304; the body is only read for a 200
+        if (!reviewResponseStore.exists(id)) {
             return ResponseEntity.notFound().build();
         }
+        if (request.checkNotModified(reviewCachePolicy.eTag(id))) {
+            return null;
+        }
+        byte[] json = reviewResponseStore.find(id).orElse(null);
+        if (json == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? json : ReviewResponseStore.gunzip(json);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(reviewCachePolicy.getCacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
     
     /**
-     * Get recent reviews
+     * Get the reviewed source code; it is read and decompressed only on this call
+     */
+    @GetMapping(value = "/{id}/source", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getReviewSource(@PathVariable Long id, WebRequest request) {
+        CodeReview pending = reviewWriteBehindQueue.getPending(id);
+        Optional<String> hash = pending != null ? Optional.empty() : codeReviewRepository.findSourceHashById(id);
+        if (pending == null && hash.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(reviewCachePolicy.eTag(id))) {
+            return null;
+        }
+        if (pending != null) {
+            return ResponseEntity.ok().cacheControl(reviewCachePolicy.getCacheControl()).body(pending.getCodeContent());
+        }
+        return hash.flatMap(sourceBlobStore::load)
+                .map(source -> ResponseEntity.ok().cacheControl(reviewCachePolicy.getCacheControl()).body(source))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get the most recent reviews, served from memory
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<CodeReviewResponse>> getRecentReviews() {
-        List<CodeReview> reviews = codeReviewRepository.findRecentReviews();
-        List<CodeReviewResponse> responses = reviews.stream()
-                .limit(10) // Limit to 10 most recent
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<CodeReviewResponse>> getRecentReviews(WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(LIST_CACHE).body(recentReviewBuffer.getRecent());
     }
     
     /**
      * Get reviews by AI provider
      */
     @GetMapping("/provider/{provider}")
-    public ResponseEntity<List<CodeReviewResponse>> getReviewsByProvider(@PathVariable String provider) {
-        List<CodeReview> reviews = codeReviewRepository.findByAiProvider(provider);
-        List<CodeReviewResponse> responses = reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<ReviewPage> getReviewsByProvider(@PathVariable String provider,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size,
+                                                           WebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(LIST_CACHE).body(fetchPage(cursor, size, (beforeTime, beforeId, page) ->
+                codeReviewRepository.findSummariesByProviderBefore(provider, beforeTime, beforeId, page)));
     }
     
     /**
-     * Search reviews by summary
+     * Search reviews by summary, findings and file name, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<CodeReviewResponse>> searchReviews(@RequestParam String keyword) {
-        List<CodeReview> reviews = codeReviewRepository.searchBySummary(keyword);
-        List<CodeReviewResponse> responses = reviews.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<ReviewPage> searchReviews(@RequestParam String keyword,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer size) throws IOException {
+        int pageSize = pageSize(size);
+        ReviewSearchIndex.SearchResult result;
+        try {
+            result = reviewSearchIndex.search(keyword, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        Map<Long, ReviewSummary> summaries = new HashMap<>();
+        List<Long> ids = result.hits().stream().map(ReviewSearchIndex.SearchHit::id).collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            codeReviewRepository.findSummariesByIdIn(ids).forEach(summary -> summaries.put(summary.getId(), summary));
+        }
+        
+        List<ReviewSummary> items = new ArrayList<>();
+        for (ReviewSearchIndex.SearchHit hit : result.hits()) {
+            ReviewSummary summary = summaries.get(hit.id());
+            if (summary != null) {
+                summary.setScore(hit.score());
+                items.add(summary);
+            }
+        }
+        ReviewPage page = new ReviewPage(items, items.size(), result.nextCursor());
+        page.setTotalHits(result.totalHits());
+        return ResponseEntity.ok(page);
+    }
+    
+    /**
+     * Stream stored reviews as NDJSON in id order, gzip-compressed when the client accepts it
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "false") boolean includeSource,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                reviewExportService.export(since, includeSource, compressed);
+                compressed.finish();
+            } else {
+                reviewExportService.export(since, includeSource, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Store reviews from an NDJSON stream in the export format, without calling the AI provider
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ReviewImportResult> importReviews(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) throws IOException {
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        try {
+            return ResponseEntity.ok(reviewImportService.importReviews(in));
+        } catch (JsonParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed NDJSON: " + e.getMessage());
+        }
     }
     
     /**
@@ -136,8 +465,11 @@ public class CodeReviewController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReview(@PathVariable Long id) {
-        if (codeReviewRepository.existsById(id)) {
-            codeReviewRepository.deleteById(id);
+        Optional<CodeReview> review = codeReviewRepository.findById(id);
+        if (review.isPresent()) {
+            codeReviewRepository.delete(review.get());
+            eventPublisher.publishEvent(new ReviewDeletedEvent(id, review.get().getAiProvider(),
+                    review.get().getTotalIssues()));
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -150,7 +482,8 @@ public class CodeReviewController {
     @GetMapping("/providers")
     public ResponseEntity<List<String>> getAvailableProviders() {
         List<String> providers = List.of(
-            "OpenAI GPT-4"
+            "OpenAI GPT-4",
+            AIReviewService.LOCAL_PROVIDER
         );
         return ResponseEntity.ok(providers);
     }
@@ -159,32 +492,76 @@ public class CodeReviewController {
      * Get statistics
      */
     @GetMapping("/stats")
-    public ResponseEntity<Object> getStatistics() {
-        long totalReviews = codeReviewRepository.count();
-        List<Object[]> providerStats = codeReviewRepository.getStatisticsByProvider();
+    public ResponseEntity<ReviewStatistics> getStatistics() {
+        return ResponseEntity.ok(reviewStatisticsService.getStatistics());
+    }
+    
+    /**
+     * Get monthly totals of reviews that the retention job has archived
+     */
+    @GetMapping("/stats/archived")
+    public ResponseEntity<List<MonthlyReviewStatistics>> getArchivedStatistics() {
+        return ResponseEntity.ok(reviewRetentionService.getArchivedMonths());
+    }
+    
+    /**
+     * Get hit and miss counts of the second-level cache regions
+     */
+    @GetMapping("/stats/cache")
+    public ResponseEntity<List<CacheRegionStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(reviewCacheService.getRegionStatistics());
+    }
+    
+    /**
+     * Get the admission limit, in-flight and queued requests, recent p99 and shed counts
+     */
+    @GetMapping("/stats/admission")
+    public ResponseEntity<AdmissionStatistics> getAdmissionStatistics() {
+        return ResponseEntity.ok(admissionControl.getStatistics());
+    }
+    
+    /**
+     * Answer a conditional list request from the in-memory change tracker; true when a 304 has been set
+     */
+    private boolean listNotModified(WebRequest request) {
+        return reviewChangeTracker.isEnabled()
+                && request.checkNotModified(reviewChangeTracker.getETag(), reviewChangeTracker.getLastModified());
+    }
+    
+    /**
+     * Run a keyset query for one page; one extra row is read to know whether another page follows
+     */
+    private ReviewPage fetchPage(String cursor, Integer size, SummaryQuery query) {
+        int pageSize = pageSize(size);
+        LocalDateTime beforeTime = FIRST_PAGE_TIME;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeTime = LocalDateTime.parse(parts[0]);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
         
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalReviews", totalReviews);
-        stats.put("providerStatistics", providerStats);
-        return ResponseEntity.ok(stats);
-    }
-    
-    /**
-     * Convert CodeReview entity to CodeReviewResponse
-     */
-    private CodeReviewResponse convertToResponse(CodeReview review) {
-        CodeReviewResponse response = new CodeReviewResponse();
-        response.setId(review.getId());
-        response.setSummary(review.getSummary());
-        response.setErrors(review.getErrors());
-        response.setWarnings(review.getWarnings());
-        response.setSuggestions(review.getSuggestions());
-        response.setGoodPractices(review.getGoodPractices());
-        response.setAiProvider(review.getAiProvider());
-        response.setFileName(review.getFileName());
-        response.setReviewTime(review.getReviewTime());
-        response.setTotalIssues(review.getTotalIssues());
-        response.setSuccess(true);
-        return response;
+        List<ReviewSummary> rows = query.fetch(beforeTime, beforeId, PageRequest.ofSize(pageSize + 1));
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ReviewSummary last = rows.get(pageSize - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getReviewTime() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReviewPage(rows, rows.size(), nextCursor);
+    }
+    
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+    
+    @FunctionalInterface
+    private interface SummaryQuery {
+        List<ReviewSummary> fetch(LocalDateTime beforeTime, Long beforeId, Pageable page);
     }
 }
@@ -0,0 +1,55 @@
+package com.javacodereviewer.backend.controller;
+
+import com.javacodereviewer.backend.analysis.RuleEngine;
+import com.javacodereviewer.backend.analysis.RuleEngine.RuleStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for the local analysis rule engine
+ */
+@RestController
+@RequestMapping("/api/rules")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class RuleController {
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    /**
+     * Get the active rule set
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getRules() {
+        return ResponseEntity.ok(ruleEngine.describe());
+    }
+
+    /**
+     * Get per-rule evaluation time, most expensive first
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<RuleStats>> getRuleStats() {
+        return ResponseEntity.ok(ruleEngine.getStats());
+    }
+
+    /**
+     * Reload the rule file now
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reloadRules() {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            result.put("version", ruleEngine.reload());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            result.put("error", "Rule reload failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
+        }
+    }
+}
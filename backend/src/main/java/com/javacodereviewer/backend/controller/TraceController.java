@@ -0,0 +1,46 @@
+package com.javacodereviewer.backend.controller;
+
+import com.javacodereviewer.backend.tracing.InMemorySpanExporter;
+import com.javacodereviewer.backend.tracing.SpanDataMapper;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for inspecting traces held by the in-process exporter
+ */
+@RestController
+@RequestMapping("/api/traces")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class TraceController {
+
+    @Autowired
+    private InMemorySpanExporter inMemorySpanExporter;
+
+    /**
+     * Get the ids of the most recent traces
+     */
+    @GetMapping
+    public ResponseEntity<List<String>> getRecentTraces(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(inMemorySpanExporter.getRecentTraceIds(limit));
+    }
+
+    /**
+     * Get every span of a trace, ordered by start time
+     */
+    @GetMapping("/{traceId}")
+    public ResponseEntity<List<Map<String, Object>>> getTrace(@PathVariable String traceId) {
+        List<SpanData> spans = inMemorySpanExporter.getTrace(traceId);
+        if (spans.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(spans.stream()
+                .map(SpanDataMapper::toMap)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.javacodereviewer.backend.controller;
+
+import com.javacodereviewer.backend.service.TokenUsageLedger;
+import com.javacodereviewer.backend.service.TokenUsageLedger.UsageRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for token usage and cost accounting
+ */
+@RestController
+@RequestMapping("/api/usage")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class UsageController {
+
+    @Autowired
+    private TokenUsageLedger tokenUsageLedger;
+
+    /**
+     * Query aggregated token usage, optionally filtered by provider, model, client and day range
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getUsage(
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) String client,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<UsageRow> rows = tokenUsageLedger.query(provider, model, client, from, to);
+
+        Map<String, Object> usage = new HashMap<>();
+        usage.put("rows", rows);
+        usage.put("totalRequests", rows.stream().mapToLong(UsageRow::requests).sum());
+        usage.put("totalTokens", rows.stream().mapToLong(UsageRow::totalTokens).sum());
+        usage.put("estimatedCost", rows.stream().mapToDouble(UsageRow::estimatedCost).sum());
+        return ResponseEntity.ok(usage);
+    }
+}
@@ -1,45 +1,50 @@
 package com.javacodereviewer.backend.entity;
 
+import com.javacodereviewer.backend.analysis.Severity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * JPA Entity for storing code review results
  */
 @Entity
-@Table(name = "code_reviews")
-public class CodeReview {
-    
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "code_reviews", indexes = {
+        @Index(name = "idx_code_reviews_time_id", columnList = "review_time DESC, id DESC"),
+        @Index(name = "idx_code_reviews_provider_time_id", columnList = "ai_provider, review_time DESC, id DESC"),
+        @Index(name = "idx_code_reviews_provider_issues", columnList = "ai_provider, total_issues"),
+        @Index(name = "idx_code_reviews_source_hash", columnList = "source_hash"),
+        @Index(name = "idx_code_reviews_month_id", columnList = "review_month, id")
+})
+public class CodeReview implements Persistable<Long> {
+    
+    // Assigned from ReviewIdAllocator before the review is stored
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "code_content", columnDefinition = "TEXT")
+    // SHA-256 of the source text, which is kept once per distinct text in SourceBlobStore
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+    
+    // Source of a review that has not been stored yet; never loaded from the database
+    @Transient
     private String codeContent;
     
-    @Column(name = "summary", columnDefinition = "TEXT")
+    @Lob
+    @Column(name = "summary")
     private String summary;
     
     @ElementCollection
-    @CollectionTable(name = "review_errors", joinColumns = @JoinColumn(name = "review_id"))
-    @Column(name = "error_message", columnDefinition = "TEXT")
-    private List<String> errors;
-    
-    @ElementCollection
-    @CollectionTable(name = "review_warnings", joinColumns = @JoinColumn(name = "review_id"))
-    @Column(name = "warning_message", columnDefinition = "TEXT")
-    private List<String> warnings;
-    
-    @ElementCollection
-    @CollectionTable(name = "review_suggestions", joinColumns = @JoinColumn(name = "review_id"))
-    @Column(name = "suggestion_message", columnDefinition = "TEXT")
-    private List<String> suggestions;
-    
-    @ElementCollection
-    @CollectionTable(name = "review_good_practices", joinColumns = @JoinColumn(name = "review_id"))
-    @Column(name = "practice_message", columnDefinition = "TEXT")
-    private List<String> goodPractices;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @CollectionTable(name = "review_findings", joinColumns = @JoinColumn(name = "review_id"))
+    @OrderColumn(name = "ordinal")
+    private List<ReviewFinding> findings = new ArrayList<>();
     
     @Column(name = "ai_provider")
     private String aiProvider;
@@ -50,15 +55,64 @@ public class CodeReview {
     @Column(name = "review_time")
     private LocalDateTime reviewTime;
     
+    // Monthly partition key (yyyymm) derived from reviewTime; retention works one month at a time
+    @Column(name = "review_month")
+    private Integer reviewMonth;
+    
     @Column(name = "total_issues")
     private Integer totalIssues;
     
+    @Column(name = "client_id")
+    private String clientId;
+    
+    @Column(name = "ai_model")
+    private String aiModel;
+    
+    @Column(name = "prompt_tokens")
+    private Long promptTokens;
+    
+    @Column(name = "completion_tokens")
+    private Long completionTokens;
+    
+    @Column(name = "total_tokens")
+    private Long totalTokens;
+    
+    @Embedded
+    private ReviewMetrics metrics;
+    
+    // Lets save() persist an assigned id directly instead of merging (select, then insert)
+    @Transient
+    private boolean isNew = true;
+    
     // Constructors
     public CodeReview() {
         this.reviewTime = LocalDateTime.now();
     }
     
+    @PrePersist
+    void assignReviewMonth() {
+        if (reviewTime != null) {
+            this.reviewMonth = reviewMonthOf(reviewTime);
+        }
+    }
+    
+    public static int reviewMonthOf(LocalDateTime time) {
+        return time.getYear() * 100 + time.getMonthValue();
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
     // Getters and Setters
+    @Override
     public Long getId() {
         return id;
     }
@@ -67,6 +121,14 @@ public class CodeReview {
         this.id = id;
     }
     
+    public String getSourceHash() {
+        return sourceHash;
+    }
+    
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+    
     public String getCodeContent() {
         return codeContent;
     }
@@ -83,36 +145,69 @@ public class CodeReview {
         this.summary = summary;
     }
     
+    public List<ReviewFinding> getFindings() {
+        return findings;
+    }
+    
+    public void setFindings(List<ReviewFinding> findings) {
+        this.findings = findings;
+    }
+    
     public List<String> getErrors() {
-        return errors;
+        return getFindings(Severity.ERROR);
     }
     
     public void setErrors(List<String> errors) {
-        this.errors = errors;
+        setFindings(Severity.ERROR, errors);
     }
     
     public List<String> getWarnings() {
-        return warnings;
+        return getFindings(Severity.WARNING);
     }
     
     public void setWarnings(List<String> warnings) {
-        this.warnings = warnings;
+        setFindings(Severity.WARNING, warnings);
     }
     
     public List<String> getSuggestions() {
-        return suggestions;
+        return getFindings(Severity.SUGGESTION);
     }
     
     public void setSuggestions(List<String> suggestions) {
-        this.suggestions = suggestions;
+        setFindings(Severity.SUGGESTION, suggestions);
     }
     
     public List<String> getGoodPractices() {
-        return goodPractices;
+        return getFindings(Severity.GOOD_PRACTICE);
     }
     
     public void setGoodPractices(List<String> goodPractices) {
-        this.goodPractices = goodPractices;
+        setFindings(Severity.GOOD_PRACTICE, goodPractices);
+    }
+    
+    /**
+     * Messages of one category, in the order they were reported
+     */
+    public List<String> getFindings(Severity category) {
+        List<String> messages = new ArrayList<>();
+        for (ReviewFinding finding : findings) {
+            if (finding.getCategory() == category) {
+                messages.add(finding.getMessage());
+            }
+        }
+        return messages;
+    }
+    
+    /**
+     * Replace the messages of one category, keeping the others
+     */
+    public void setFindings(Severity category, List<String> messages) {
+        findings.removeIf(finding -> finding.getCategory() == category);
+        if (messages != null) {
+            for (String message : messages) {
+                findings.add(new ReviewFinding(category, message));
+            }
+        }
     }
     
     public String getAiProvider() {
@@ -139,6 +234,10 @@ public class CodeReview {
         this.reviewTime = reviewTime;
     }
     
+    public Integer getReviewMonth() {
+        return reviewMonth;
+    }
+    
     public Integer getTotalIssues() {
         return totalIssues;
     }
@@ -146,4 +245,52 @@ public class CodeReview {
     public void setTotalIssues(Integer totalIssues) {
         this.totalIssues = totalIssues;
     }
+    
+    public String getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+    
+    public String getAiModel() {
+        return aiModel;
+    }
+    
+    public void setAiModel(String aiModel) {
+        this.aiModel = aiModel;
+    }
+    
+    public Long getPromptTokens() {
+        return promptTokens;
+    }
+    
+    public void setPromptTokens(Long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+    
+    public Long getCompletionTokens() {
+        return completionTokens;
+    }
+    
+    public void setCompletionTokens(Long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+    
+    public Long getTotalTokens() {
+        return totalTokens;
+    }
+    
+    public void setTotalTokens(Long totalTokens) {
+        this.totalTokens = totalTokens;
+    }
+    
+    public ReviewMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public void setMetrics(ReviewMetrics metrics) {
+        this.metrics = metrics;
+    }
 }
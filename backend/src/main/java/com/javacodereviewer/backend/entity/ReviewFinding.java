@@ -0,0 +1,48 @@
+package com.javacodereviewer.backend.entity;
+
+import com.javacodereviewer.backend.analysis.Severity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Lob;
+
+/**
+ * One finding of a review; all categories share the review_findings table
+ */
+@Embeddable
+public class ReviewFinding {
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 20, nullable = false)
+    private Severity category;
+    
+    @Lob
+    @Column(name = "message")
+    private String message;
+    
+    // Constructors
+    public ReviewFinding() {}
+    
+    public ReviewFinding(Severity category, String message) {
+        this.category = category;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Severity getCategory() {
+        return category;
+    }
+    
+    public void setCategory(Severity category) {
+        this.category = category;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
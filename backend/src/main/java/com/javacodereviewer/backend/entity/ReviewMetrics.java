@@ -0,0 +1,163 @@
+package com.javacodereviewer.backend.entity;
+
+import com.javacodereviewer.backend.model.CodeMetrics;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Code metrics stored alongside a review
+ */
+@Embeddable
+public class ReviewMetrics {
+    
+    @Column(name = "total_lines")
+    private Integer totalLines;
+    
+    @Column(name = "lines_of_code")
+    private Integer linesOfCode;
+    
+    @Column(name = "comment_lines")
+    private Integer commentLines;
+    
+    @Column(name = "blank_lines")
+    private Integer blankLines;
+    
+    @Column(name = "comment_density")
+    private Double commentDensity;
+    
+    @Column(name = "method_count")
+    private Integer methodCount;
+    
+    @Column(name = "field_count")
+    private Integer fieldCount;
+    
+    @Column(name = "max_cyclomatic_complexity")
+    private Integer maxCyclomaticComplexity;
+    
+    @Column(name = "avg_cyclomatic_complexity")
+    private Double averageCyclomaticComplexity;
+    
+    @Column(name = "max_nesting_depth")
+    private Integer maxNestingDepth;
+    
+    public static ReviewMetrics from(CodeMetrics metrics) {
+        ReviewMetrics stored = new ReviewMetrics();
+        stored.totalLines = metrics.getTotalLines();
+        stored.linesOfCode = metrics.getLinesOfCode();
+        stored.commentLines = metrics.getCommentLines();
+        stored.blankLines = metrics.getBlankLines();
+        stored.commentDensity = metrics.getCommentDensity();
+        stored.methodCount = metrics.getMethodCount();
+        stored.fieldCount = metrics.getFieldCount();
+        stored.maxCyclomaticComplexity = metrics.getMaxCyclomaticComplexity();
+        stored.averageCyclomaticComplexity = metrics.getAverageCyclomaticComplexity();
+        stored.maxNestingDepth = metrics.getMaxNestingDepth();
+        return stored;
+    }
+    
+    /**
+     * Null for reviews stored before metrics were recorded
+     */
+    public CodeMetrics toCodeMetrics() {
+        if (totalLines == null) {
+            return null;
+        }
+        CodeMetrics metrics = new CodeMetrics();
+        metrics.setTotalLines(totalLines);
+        metrics.setLinesOfCode(valueOf(linesOfCode));
+        metrics.setCommentLines(valueOf(commentLines));
+        metrics.setBlankLines(valueOf(blankLines));
+        metrics.setCommentDensity(commentDensity != null ? commentDensity : 0.0);
+        metrics.setMethodCount(valueOf(methodCount));
+        metrics.setFieldCount(valueOf(fieldCount));
+        metrics.setMaxCyclomaticComplexity(valueOf(maxCyclomaticComplexity));
+        metrics.setAverageCyclomaticComplexity(averageCyclomaticComplexity != null ? averageCyclomaticComplexity : 0.0);
+        metrics.setMaxNestingDepth(valueOf(maxNestingDepth));
+        return metrics;
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    // Getters and Setters
+    public Integer getTotalLines() {
+        return totalLines;
+    }
+    
+    public void setTotalLines(Integer totalLines) {
+        this.totalLines = totalLines;
+    }
+    
+    public Integer getLinesOfCode() {
+        return linesOfCode;
+    }
+    
+    public void setLinesOfCode(Integer linesOfCode) {
+        this.linesOfCode = linesOfCode;
+    }
+    
+    public Integer getCommentLines() {
+        return commentLines;
+    }
+    
+    public void setCommentLines(Integer commentLines) {
+        this.commentLines = commentLines;
+    }
+    
+    public Integer getBlankLines() {
+        return blankLines;
+    }
+    
+    public void setBlankLines(Integer blankLines) {
+        this.blankLines = blankLines;
+    }
+    
+    public Double getCommentDensity() {
+        return commentDensity;
+    }
+    
+    public void setCommentDensity(Double commentDensity) {
+        this.commentDensity = commentDensity;
+    }
+    
+    public Integer getMethodCount() {
+        return methodCount;
+    }
+    
+    public void setMethodCount(Integer methodCount) {
+        this.methodCount = methodCount;
+    }
+    
+    public Integer getFieldCount() {
+        return fieldCount;
+    }
+    
+    public void setFieldCount(Integer fieldCount) {
+        this.fieldCount = fieldCount;
+    }
+    
+    public Integer getMaxCyclomaticComplexity() {
+        return maxCyclomaticComplexity;
+    }
+    
+    public void setMaxCyclomaticComplexity(Integer maxCyclomaticComplexity) {
+        this.maxCyclomaticComplexity = maxCyclomaticComplexity;
+    }
+    
+    public Double getAverageCyclomaticComplexity() {
+        return averageCyclomaticComplexity;
+    }
+    
+    public void setAverageCyclomaticComplexity(Double averageCyclomaticComplexity) {
+        this.averageCyclomaticComplexity = averageCyclomaticComplexity;
+    }
+    
+    public Integer getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+    
+    public void setMaxNestingDepth(Integer maxNestingDepth) {
+        this.maxNestingDepth = maxNestingDepth;
+    }
+}
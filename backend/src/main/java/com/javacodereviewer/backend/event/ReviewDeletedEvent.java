@@ -0,0 +1,6 @@
+package com.javacodereviewer.backend.event;
+
+/**
+ * Published after a review has been deleted; carries what listeners need to undo its contribution
+ */
+public record ReviewDeletedEvent(Long id, String aiProvider, Integer totalIssues) {}
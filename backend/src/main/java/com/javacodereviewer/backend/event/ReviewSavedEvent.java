@@ -0,0 +1,8 @@
+package com.javacodereviewer.backend.event;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+
+/**
+ * Published after a review has been stored
+ */
+public record ReviewSavedEvent(CodeReview review) {}
@@ -0,0 +1,8 @@
+package com.javacodereviewer.backend.event;
+
+import java.util.List;
+
+/**
+ * Published after the retention job has detached the stored sources of old reviews
+ */
+public record ReviewSourcesDetachedEvent(List<Long> ids) {}
@@ -0,0 +1,8 @@
+package com.javacodereviewer.backend.event;
+
+import java.util.List;
+
+/**
+ * Published after the retention job has folded old reviews into monthly aggregates and removed them
+ */
+public record ReviewsArchivedEvent(List<Long> ids) {}
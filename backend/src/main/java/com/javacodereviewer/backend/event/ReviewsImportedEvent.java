@@ -0,0 +1,6 @@
+package com.javacodereviewer.backend.event;
+
+/**
+ * Published once after a bulk import has stored its reviews; every imported id lies in [firstId, lastId]
+ */
+public record ReviewsImportedEvent(long firstId, long lastId, long count) {}
@@ -0,0 +1,196 @@
+package com.javacodereviewer.backend.jobs;
+
+import com.javacodereviewer.backend.model.CodeReviewRequest;
+import com.javacodereviewer.backend.model.ReviewJob;
+import com.javacodereviewer.backend.service.SourceBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Review jobs in the review_jobs table, shared by every backend instance on the database.
+ *
+ * A job is claimable while available_at has passed. Claiming a job leases it to one worker
+ * and moves available_at to the end of the lease (app.jobs.lease-ms), which is its visibility
+ * timeout: a worker that dies leaves the job to be claimed again once the lease runs out,
+ * while a live worker keeps renewing it. Finished jobs have no available_at.
+ *
+ * Claims lock a single candidate row with SELECT ... FOR UPDATE SKIP LOCKED, so competing
+ * workers move on to the next candidate instead of waiting. H2 applies LIMIT before skipping
+ * locked rows, so the candidates are read without a lock and claimed one at a time. Updates
+ * after the claim are fenced by owner and attempt, so a worker whose lease was taken over
+ * cannot change the job any more.
+ */
+@Service
+public class ReviewJobQueue {
+
+    private static final String FENCE = " WHERE id = ? AND lease_owner = ? AND attempts = ? AND status = 'RUNNING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SourceBlobStore sourceBlobStore;
+
+    @Value("${app.jobs.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${app.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.jobs.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    @Value("${app.jobs.claim-window:16}")
+    private int claimWindow;
+
+    public ReviewJobQueue(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          SourceBlobStore sourceBlobStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sourceBlobStore = sourceBlobStore;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    /**
+     * Queue a review; the source goes to the blob store and the job only keeps its hash
+     */
+    public ReviewJob enqueue(CodeReviewRequest request, String clientId) {
+        String hash = sourceBlobStore.store(request.getCode());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO review_jobs (status, source_hash, ai_provider, file_name, client_id, attempts, "
+                            + "available_at, created_at, updated_at) "
+                            + "VALUES ('PENDING', ?, ?, ?, ?, 0, LOCALTIMESTAMP, LOCALTIMESTAMP, LOCALTIMESTAMP)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, hash);
+            statement.setString(2, request.getAiProvider());
+            statement.setString(3, request.getFileName());
+            statement.setString(4, clientId);
+            return statement;
+        }, keys);
+        return find(keys.getKey().longValue()).orElseThrow();
+    }
+
+    public Optional<ReviewJob> find(long id) {
+        List<ReviewJob> jobs = jdbcTemplate.query("SELECT id, status, ai_provider, file_name, attempts, review_id, "
+                + "error_message, lease_owner, created_at, updated_at FROM review_jobs WHERE id = ?", this::toJob, id);
+        return jobs.stream().findFirst();
+    }
+
+    /**
+     * Lease the oldest available job to owner, or null when there is none
+     */
+    public Claim claim(String owner) {
+        List<Long> candidates = jdbcTemplate.queryForList("SELECT id FROM review_jobs "
+                + "WHERE available_at <= LOCALTIMESTAMP ORDER BY available_at, id LIMIT ?", Long.class, claimWindow);
+        for (Long id : candidates) {
+            Claim claim = transactionTemplate.execute(status -> tryClaim(id, owner));
+            if (claim != null) {
+                return claim;
+            }
+        }
+        return null;
+    }
+
+    private Claim tryClaim(long id, String owner) {
+        List<Integer> attempts = jdbcTemplate.queryForList("SELECT attempts FROM review_jobs "
+                + "WHERE id = ? AND available_at <= LOCALTIMESTAMP FOR UPDATE SKIP LOCKED", Integer.class, id);
+        if (attempts.isEmpty()) {
+            // Claimed by another worker since the candidates were read, or locked by one right now
+            return null;
+        }
+        if (attempts.get(0) >= maxAttempts) {
+            // Every lease so far ran out, so the workers running it died or hung
+            jdbcTemplate.update("UPDATE review_jobs SET status = 'FAILED', available_at = NULL, "
+                    + "error_message = ?, updated_at = LOCALTIMESTAMP WHERE id = ?",
+                    "Lease expired after " + maxAttempts + " attempts", id);
+            return null;
+        }
+        jdbcTemplate.update("UPDATE review_jobs SET status = 'RUNNING', lease_owner = ?, attempts = attempts + 1, "
+                + "available_at = DATEADD(MILLISECOND, ?, LOCALTIMESTAMP), updated_at = LOCALTIMESTAMP "
+                + "WHERE id = ?", owner, leaseMs, id);
+        return jdbcTemplate.queryForObject("SELECT attempts, source_hash, ai_provider, file_name, client_id "
+                + "FROM review_jobs WHERE id = ?", (rs, rowNum) -> new Claim(id, owner, rs.getInt(1),
+                rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)), id);
+    }
+
+    /**
+     * Extend the lease of a running job; false when it has been lost to another worker
+     */
+    public boolean renew(Claim claim) {
+        return jdbcTemplate.update("UPDATE review_jobs SET available_at = DATEADD(MILLISECOND, ?, LOCALTIMESTAMP), "
+                + "updated_at = LOCALTIMESTAMP" + FENCE, leaseMs, claim.id(), claim.owner(), claim.attempt()) == 1;
+    }
+
+    public boolean complete(Claim claim, long reviewId) {
+        return jdbcTemplate.update("UPDATE review_jobs SET status = 'DONE', review_id = ?, available_at = NULL, "
+                + "error_message = NULL, updated_at = LOCALTIMESTAMP" + FENCE,
+                reviewId, claim.id(), claim.owner(), claim.attempt()) == 1;
+    }
+
+    /**
+     * Put a failed job back after a delay that grows with each attempt, or fail it for good
+     * once it has used up app.jobs.max-attempts
+     */
+    public boolean fail(Claim claim, String errorMessage) {
+        String message = errorMessage == null ? "Unknown error"
+                : errorMessage.substring(0, Math.min(errorMessage.length(), 1000));
+        if (claim.attempt() >= maxAttempts) {
+            return jdbcTemplate.update("UPDATE review_jobs SET status = 'FAILED', available_at = NULL, "
+                    + "error_message = ?, updated_at = LOCALTIMESTAMP" + FENCE,
+                    message, claim.id(), claim.owner(), claim.attempt()) == 1;
+        }
+        return jdbcTemplate.update("UPDATE review_jobs SET status = 'PENDING', "
+                + "available_at = DATEADD(MILLISECOND, ?, LOCALTIMESTAMP), error_message = ?, "
+                + "updated_at = LOCALTIMESTAMP" + FENCE,
+                retryDelayMs * claim.attempt(), message, claim.id(), claim.owner(), claim.attempt()) == 1;
+    }
+
+    /**
+     * Hand a job back at once without counting the attempt, for a worker that is shutting down
+     */
+    public boolean release(Claim claim) {
+        return jdbcTemplate.update("UPDATE review_jobs SET status = 'PENDING', available_at = LOCALTIMESTAMP, "
+                + "attempts = attempts - 1, updated_at = LOCALTIMESTAMP" + FENCE,
+                claim.id(), claim.owner(), claim.attempt()) == 1;
+    }
+
+    /**
+     * Delete jobs that finished more than the given number of hours ago
+     */
+    public int purgeFinished(long hours) {
+        return jdbcTemplate.update("DELETE FROM review_jobs WHERE available_at IS NULL "
+                + "AND updated_at < DATEADD(HOUR, ?, LOCALTIMESTAMP)", -hours);
+    }
+
+    private ReviewJob toJob(ResultSet rs, int rowNum) throws SQLException {
+        return new ReviewJob(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getInt(5),
+                rs.getObject(6, Long.class), rs.getString(7), rs.getString(8),
+                toLocal(rs.getTimestamp(9)), toLocal(rs.getTimestamp(10)));
+    }
+
+    private static LocalDateTime toLocal(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * A job leased to owner; attempt fences every later update
+     */
+    public record Claim(long id, String owner, int attempt, String sourceHash, String aiProvider,
+                        String fileName, String clientId) {}
+}
@@ -0,0 +1,217 @@
+package com.javacodereviewer.backend.jobs;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.jobs.ReviewJobQueue.Claim;
+import com.javacodereviewer.backend.model.CodeReviewRequest;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.service.AIReviewService;
+import com.javacodereviewer.backend.service.ReviewRecorder;
+import com.javacodereviewer.backend.service.SourceBlobStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs queued review jobs on this node (app.jobs.enabled).
+ *
+ * app.jobs.workers threads claim jobs from ReviewJobQueue, review them and record the result,
+ * so every node that shares the database takes work from the same queue. An idle worker polls
+ * every app.jobs.poll-interval-ms, or at once when a job is queued on this node. A background
+ * thread renews the leases of running jobs three times per lease, and once the review is done
+ * the lease is checked again before it is recorded, so a job that another node took over is
+ * not stored twice.
+ */
+@Component
+public class ReviewJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewJobWorker.class);
+
+    private static final long PURGE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final ReviewJobQueue reviewJobQueue;
+    private final SourceBlobStore sourceBlobStore;
+    private final AIReviewService aiReviewService;
+    private final ReviewRecorder reviewRecorder;
+
+    @Value("${app.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.workers:2}")
+    private int workerCount;
+
+    @Value("${app.jobs.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.jobs.node-id:}")
+    private String nodeId;
+
+    @Value("${app.jobs.keep-finished-hours:24}")
+    private long keepFinishedHours;
+
+    @Value("${app.jobs.shutdown-wait-ms:10000}")
+    private long shutdownWaitMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final ConcurrentHashMap<Long, Claim> running = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private ScheduledExecutorService leaseKeeper;
+    private volatile boolean active;
+
+    public ReviewJobWorker(ReviewJobQueue reviewJobQueue, SourceBlobStore sourceBlobStore,
+                           AIReviewService aiReviewService, ReviewRecorder reviewRecorder) {
+        this.reviewJobQueue = reviewJobQueue;
+        this.sourceBlobStore = sourceBlobStore;
+        this.aiReviewService = aiReviewService;
+        this.reviewRecorder = reviewRecorder;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || workerCount <= 0) {
+            return;
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            // pid@host, unique per process on one machine
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        active = true;
+        for (int i = 0; i < workerCount; i++) {
+            String owner = nodeId + "/" + i;
+            Thread worker = new Thread(() -> run(owner), "review-job-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        long renewMs = Math.max(100, reviewJobQueue.getLeaseMs() / 3);
+        leaseKeeper = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "review-job-leases"));
+        leaseKeeper.scheduleWithFixedDelay(this::renewLeases, renewMs, renewMs, TimeUnit.MILLISECONDS);
+        leaseKeeper.scheduleWithFixedDelay(this::purgeFinished, 0, PURGE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        log.info("Review job workers started on {} ({} threads, lease {} ms)", nodeId, workerCount,
+                reviewJobQueue.getLeaseMs());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!active) {
+            return;
+        }
+        // No interrupt: interrupting a thread inside JDBC can close H2's file channel
+        active = false;
+        wakeUp();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownWaitMs);
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        leaseKeeper.shutdown();
+        // Jobs still under review go back to the queue for another node instead of waiting out their lease
+        for (Claim claim : running.values()) {
+            if (reviewJobQueue.release(claim)) {
+                log.info("Released review job {} at shutdown", claim.id());
+            }
+        }
+    }
+
+    /**
+     * Let an idle worker on this node claim a job that was just queued
+     */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            queued.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void run(String owner) {
+        while (active) {
+            Claim claim;
+            try {
+                claim = reviewJobQueue.claim(owner);
+            } catch (Exception e) {
+                log.warn("Claiming a review job failed: {}", e.getMessage());
+                claim = null;
+            }
+            if (claim == null) {
+                awaitWork();
+                continue;
+            }
+            process(claim);
+        }
+    }
+
+    private void awaitWork() {
+        lock.lock();
+        try {
+            if (active) {
+                queued.await(pollIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            active = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void process(Claim claim) {
+        running.put(claim.id(), claim);
+        try {
+            String code = sourceBlobStore.load(claim.sourceHash())
+                    .orElseThrow(() -> new IllegalStateException("Source " + claim.sourceHash() + " is missing"));
+            CodeReviewResponse response = aiReviewService.reviewCode(code, claim.aiProvider(), claim.fileName());
+            if (!reviewJobQueue.renew(claim)) {
+                log.warn("Lease on review job {} was lost; dropping its result", claim.id());
+                return;
+            }
+            CodeReview review = reviewRecorder.record(
+                    new CodeReviewRequest(code, claim.aiProvider(), claim.fileName()), response, claim.clientId());
+            reviewJobQueue.complete(claim, review.getId());
+        } catch (Exception e) {
+            log.warn("Review job {} failed on attempt {}: {}", claim.id(), claim.attempt(), e.getMessage());
+            reviewJobQueue.fail(claim, e.getMessage());
+        } finally {
+            running.remove(claim.id());
+        }
+    }
+
+    private void renewLeases() {
+        for (Claim claim : running.values()) {
+            try {
+                if (!reviewJobQueue.renew(claim)) {
+                    log.warn("Lease on review job {} expired before it was renewed", claim.id());
+                }
+            } catch (Exception e) {
+                log.warn("Renewing the lease on review job {} failed: {}", claim.id(), e.getMessage());
+            }
+        }
+    }
+
+    private void purgeFinished() {
+        try {
+            int purged = reviewJobQueue.purgeFinished(keepFinishedHours);
+            if (purged > 0) {
+                log.info("Purged {} finished review jobs", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Purging finished review jobs failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.javacodereviewer.backend.migration;
+
+import com.javacodereviewer.backend.service.SourceBlobStore;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Moves code_reviews.code_content into the content-addressed source_blobs table.
+ *
+ * Hashing and compression have to match SourceBlobStore, so this is a Java migration rather
+ * than SQL. Rows are read in id order and each batch is committed on its own: one transaction
+ * over a large table makes H2's commit walk the whole undo log, which took minutes per million
+ * rows. The steps are idempotent, so a failed run can be repaired and run again.
+ */
+public class V2__Move_source_into_blob_store extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            // Literal DDL: Java migrations have no checksum, so they must not follow later code changes
+            ddl.execute("CREATE TABLE IF NOT EXISTS source_blobs ("
+                    + "hash VARCHAR(64) NOT NULL PRIMARY KEY, "
+                    + "original_length INTEGER NOT NULL, "
+                    + "content VARBINARY NOT NULL)");
+            ddl.execute("ALTER TABLE code_reviews ADD COLUMN IF NOT EXISTS source_hash VARCHAR(64)");
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long afterId = Long.MIN_VALUE;
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, code_content FROM code_reviews WHERE id > ? AND code_content IS NOT NULL "
+                             + "AND source_hash IS NULL ORDER BY id LIMIT "
+                             + BATCH_SIZE);
+             PreparedStatement insertBlob = connection.prepareStatement(
+                     "MERGE INTO source_blobs KEY (hash) VALUES (?, ?, ?)");
+             PreparedStatement updateReview = connection.prepareStatement(
+                     "UPDATE code_reviews SET source_hash = ? WHERE id = ?")) {
+            while (true) {
+                select.setLong(1, afterId);
+                // Duplicates within a batch are skipped here, across batches MERGE keeps one copy
+                Set<String> batchHashes = new HashSet<>();
+                int rows = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        afterId = rs.getLong(1);
+                        byte[] bytes = rs.getString(2).getBytes(StandardCharsets.UTF_8);
+                        String hash = SourceBlobStore.hash(bytes);
+                        if (batchHashes.add(hash)) {
+                            insertBlob.setString(1, hash);
+                            insertBlob.setInt(2, bytes.length);
+                            insertBlob.setBytes(3, SourceBlobStore.compress(bytes));
+                            insertBlob.addBatch();
+                        }
+                        updateReview.setString(1, hash);
+                        updateReview.setLong(2, afterId);
+                        updateReview.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows == 0) {
+                    break;
+                }
+                insertBlob.executeBatch();
+                updateReview.executeBatch();
+                connection.commit();
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE code_reviews DROP COLUMN IF EXISTS code_content");
+            ddl.execute("CREATE INDEX IF NOT EXISTS idx_code_reviews_source_hash ON code_reviews (source_hash)");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.javacodereviewer.backend.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Adds the review_month partition key, backfilled from review_time, and the table that holds
+ * the monthly aggregates of archived reviews.
+ *
+ * The backfill commits one id range at a time for the same reason as V2: a single UPDATE over
+ * a large table leaves H2 a huge undo log to walk at commit. The steps are idempotent.
+ */
+public class V3__Review_month_partition_and_aggregates extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 10000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE code_reviews ADD COLUMN IF NOT EXISTS review_month INTEGER");
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long afterId = Long.MIN_VALUE;
+        try (PreparedStatement nextRange = connection.prepareStatement(
+                     "SELECT MAX(id) FROM (SELECT id FROM code_reviews WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE + ")");
+             PreparedStatement backfill = connection.prepareStatement(
+                     "UPDATE code_reviews SET review_month = EXTRACT(YEAR FROM review_time) * 100 "
+                             + "+ EXTRACT(MONTH FROM review_time) WHERE id > ? AND id <= ? "
+                             + "AND review_month IS NULL AND review_time IS NOT NULL")) {
+            while (true) {
+                nextRange.setLong(1, afterId);
+                long lastId;
+                try (ResultSet rs = nextRange.executeQuery()) {
+                    rs.next();
+                    lastId = rs.getLong(1);
+                    if (rs.wasNull()) {
+                        break;
+                    }
+                }
+                backfill.setLong(1, afterId);
+                backfill.setLong(2, lastId);
+                backfill.executeUpdate();
+                connection.commit();
+                afterId = lastId;
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE INDEX IF NOT EXISTS idx_code_reviews_month_id ON code_reviews (review_month, id)");
+            ddl.execute("CREATE TABLE IF NOT EXISTS review_monthly_aggregates ("
+                    + "review_month INTEGER NOT NULL, "
+                    + "ai_provider VARCHAR(255) NOT NULL, "
+                    + "review_count BIGINT NOT NULL, "
+                    + "total_issues BIGINT NOT NULL, "
+                    + "total_tokens BIGINT NOT NULL, "
+                    + "PRIMARY KEY (review_month, ai_provider))");
+        }
+    }
+}
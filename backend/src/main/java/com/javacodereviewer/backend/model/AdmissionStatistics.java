@@ -0,0 +1,168 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Current state and counters of the admission control in front of the review endpoints
+ */
+public class AdmissionStatistics {
+
+    private boolean enabled;
+    private int limit;
+    private int maxInFlight;
+    private int inFlight;
+    private int queued;
+    private long recentP99Ms;
+    private double recentQueueWaitMs;
+    private long admittedNormal;
+    private long admittedLow;
+    private long shedNormal;
+    private long shedLow;
+    private long shedAtLimit;
+    private long shedQueueFull;
+    private long shedQueueTimeout;
+    private long shedForLatency;
+
+    // Constructors
+    public AdmissionStatistics() {}
+
+    public AdmissionStatistics(boolean enabled, int limit, int maxInFlight, int inFlight, int queued,
+                               long recentP99Ms, double recentQueueWaitMs, long admittedNormal,
+                               long admittedLow, long shedNormal, long shedLow, long shedAtLimit,
+                               long shedQueueFull, long shedQueueTimeout, long shedForLatency) {
+        this.enabled = enabled;
+        this.limit = limit;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.recentP99Ms = recentP99Ms;
+        this.recentQueueWaitMs = recentQueueWaitMs;
+        this.admittedNormal = admittedNormal;
+        this.admittedLow = admittedLow;
+        this.shedNormal = shedNormal;
+        this.shedLow = shedLow;
+        this.shedAtLimit = shedAtLimit;
+        this.shedQueueFull = shedQueueFull;
+        this.shedQueueTimeout = shedQueueTimeout;
+        this.shedForLatency = shedForLatency;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public long getRecentP99Ms() {
+        return recentP99Ms;
+    }
+
+    public void setRecentP99Ms(long recentP99Ms) {
+        this.recentP99Ms = recentP99Ms;
+    }
+
+    public double getRecentQueueWaitMs() {
+        return recentQueueWaitMs;
+    }
+
+    public void setRecentQueueWaitMs(double recentQueueWaitMs) {
+        this.recentQueueWaitMs = recentQueueWaitMs;
+    }
+
+    public long getAdmittedNormal() {
+        return admittedNormal;
+    }
+
+    public void setAdmittedNormal(long admittedNormal) {
+        this.admittedNormal = admittedNormal;
+    }
+
+    public long getAdmittedLow() {
+        return admittedLow;
+    }
+
+    public void setAdmittedLow(long admittedLow) {
+        this.admittedLow = admittedLow;
+    }
+
+    public long getShedNormal() {
+        return shedNormal;
+    }
+
+    public void setShedNormal(long shedNormal) {
+        this.shedNormal = shedNormal;
+    }
+
+    public long getShedLow() {
+        return shedLow;
+    }
+
+    public void setShedLow(long shedLow) {
+        this.shedLow = shedLow;
+    }
+
+    public long getShedAtLimit() {
+        return shedAtLimit;
+    }
+
+    public void setShedAtLimit(long shedAtLimit) {
+        this.shedAtLimit = shedAtLimit;
+    }
+
+    public long getShedQueueFull() {
+        return shedQueueFull;
+    }
+
+    public void setShedQueueFull(long shedQueueFull) {
+        this.shedQueueFull = shedQueueFull;
+    }
+
+    public long getShedQueueTimeout() {
+        return shedQueueTimeout;
+    }
+
+    public void setShedQueueTimeout(long shedQueueTimeout) {
+        this.shedQueueTimeout = shedQueueTimeout;
+    }
+
+    public long getShedForLatency() {
+        return shedForLatency;
+    }
+
+    public void setShedForLatency(long shedForLatency) {
+        this.shedForLatency = shedForLatency;
+    }
+}
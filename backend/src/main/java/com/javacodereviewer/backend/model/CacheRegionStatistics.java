@@ -0,0 +1,76 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Hit and miss counts of one second-level cache region
+ */
+public class CacheRegionStatistics {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+    private Long elementCount;
+
+    // Constructors
+    public CacheRegionStatistics() {}
+
+    public CacheRegionStatistics(String region, long hitCount, long missCount, long putCount, Long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        long lookups = hitCount + missCount;
+        this.hitRatio = lookups > 0 ? Math.round(hitCount * 1000.0 / lookups) / 1000.0 : 0.0;
+        this.elementCount = elementCount;
+    }
+
+    // Getters and Setters
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public Long getElementCount() {
+        return elementCount;
+    }
+
+    public void setElementCount(Long elementCount) {
+        this.elementCount = elementCount;
+    }
+}
@@ -0,0 +1,99 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Size and complexity metrics of a reviewed source file
+ */
+public class CodeMetrics {
+
+    private int totalLines;
+    private int linesOfCode;
+    private int commentLines;
+    private int blankLines;
+    private double commentDensity;
+    private int methodCount;
+    private int fieldCount;
+    private int maxCyclomaticComplexity;
+    private double averageCyclomaticComplexity;
+    private int maxNestingDepth;
+
+    // Getters and Setters
+    public int getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(int totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public int getLinesOfCode() {
+        return linesOfCode;
+    }
+
+    public void setLinesOfCode(int linesOfCode) {
+        this.linesOfCode = linesOfCode;
+    }
+
+    public int getCommentLines() {
+        return commentLines;
+    }
+
+    public void setCommentLines(int commentLines) {
+        this.commentLines = commentLines;
+    }
+
+    public int getBlankLines() {
+        return blankLines;
+    }
+
+    public void setBlankLines(int blankLines) {
+        this.blankLines = blankLines;
+    }
+
+    public double getCommentDensity() {
+        return commentDensity;
+    }
+
+    public void setCommentDensity(double commentDensity) {
+        this.commentDensity = commentDensity;
+    }
+
+    public int getMethodCount() {
+        return methodCount;
+    }
+
+    public void setMethodCount(int methodCount) {
+        this.methodCount = methodCount;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public void setFieldCount(int fieldCount) {
+        this.fieldCount = fieldCount;
+    }
+
+    public int getMaxCyclomaticComplexity() {
+        return maxCyclomaticComplexity;
+    }
+
+    public void setMaxCyclomaticComplexity(int maxCyclomaticComplexity) {
+        this.maxCyclomaticComplexity = maxCyclomaticComplexity;
+    }
+
+    public double getAverageCyclomaticComplexity() {
+        return averageCyclomaticComplexity;
+    }
+
+    public void setAverageCyclomaticComplexity(double averageCyclomaticComplexity) {
+        this.averageCyclomaticComplexity = averageCyclomaticComplexity;
+    }
+
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public void setMaxNestingDepth(int maxNestingDepth) {
+        this.maxNestingDepth = maxNestingDepth;
+    }
+}
@@ -8,13 +8,20 @@ import jakarta.validation.constraints.Size;
  */
 public class CodeReviewRequest {
     
+    public static final int MAX_CODE_LENGTH = 10000;
+    
+    // Sizes of the file_name and client_id columns
+    public static final int MAX_FILE_NAME_LENGTH = 255;
+    public static final int MAX_CLIENT_ID_LENGTH = 255;
+    
     @NotBlank(message = "Code content is required")
-    @Size(max = 10000, message = "Code content must not exceed 10000 characters")
+    @Size(max = MAX_CODE_LENGTH, message = "Code content must not exceed 10000 characters")
     private String code;
     
     @NotBlank(message = "AI provider is required")
     private String aiProvider;
     
+    @Size(max = MAX_FILE_NAME_LENGTH, message = "File name must not exceed 255 characters")
     private String fileName;
     
     // Constructors
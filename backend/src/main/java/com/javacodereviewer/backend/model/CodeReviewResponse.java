@@ -1,5 +1,6 @@
 package com.javacodereviewer.backend.model;
 
+import com.javacodereviewer.backend.entity.CodeReview;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,6 +19,8 @@ public class CodeReviewResponse {
     private String fileName;
     private LocalDateTime reviewTime;
     private int totalIssues;
+    private TokenUsage tokenUsage;
+    private CodeMetrics metrics;
     private boolean success;
     private String errorMessage;
     
@@ -34,6 +37,32 @@ public class CodeReviewResponse {
         this.success = true;
     }
     
+    /**
+     * Convert a stored CodeReview entity to a response
+     */
+    public static CodeReviewResponse from(CodeReview review) {
+        CodeReviewResponse response = new CodeReviewResponse();
+        response.setId(review.getId());
+        response.setSummary(review.getSummary());
+        response.setErrors(review.getErrors());
+        response.setWarnings(review.getWarnings());
+        response.setSuggestions(review.getSuggestions());
+        response.setGoodPractices(review.getGoodPractices());
+        response.setAiProvider(review.getAiProvider());
+        response.setFileName(review.getFileName());
+        response.setReviewTime(review.getReviewTime());
+        response.setTotalIssues(review.getTotalIssues());
+        if (review.getTotalTokens() != null) {
+            response.setTokenUsage(new TokenUsage(review.getAiModel(), review.getPromptTokens(),
+                    review.getCompletionTokens(), review.getTotalTokens()));
+        }
+        if (review.getMetrics() != null) {
+            response.setMetrics(review.getMetrics().toCodeMetrics());
+        }
+        response.setSuccess(true);
+        return response;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -115,6 +144,22 @@ public class CodeReviewResponse {
         this.totalIssues = totalIssues;
     }
     
+    public TokenUsage getTokenUsage() {
+        return tokenUsage;
+    }
+    
+    public void setTokenUsage(TokenUsage tokenUsage) {
+        this.tokenUsage = tokenUsage;
+    }
+    
+    public CodeMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public void setMetrics(CodeMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
     public boolean isSuccess() {
         return success;
     }
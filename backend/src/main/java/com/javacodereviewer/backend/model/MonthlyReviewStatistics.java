@@ -0,0 +1,65 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Review totals of one AI provider in one calendar month, kept after the reviews themselves expire
+ */
+public class MonthlyReviewStatistics {
+
+    private String month;
+    private String aiProvider;
+    private long reviewCount;
+    private long totalIssues;
+    private long totalTokens;
+
+    // Constructors
+    public MonthlyReviewStatistics() {}
+
+    public MonthlyReviewStatistics(String month, String aiProvider, long reviewCount, long totalIssues, long totalTokens) {
+        this.month = month;
+        this.aiProvider = aiProvider;
+        this.reviewCount = reviewCount;
+        this.totalIssues = totalIssues;
+        this.totalTokens = totalTokens;
+    }
+
+    // Getters and Setters
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public String getAiProvider() {
+        return aiProvider;
+    }
+
+    public void setAiProvider(String aiProvider) {
+        this.aiProvider = aiProvider;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getTotalIssues() {
+        return totalIssues;
+    }
+
+    public void setTotalIssues(long totalIssues) {
+        this.totalIssues = totalIssues;
+    }
+
+    public long getTotalTokens() {
+        return totalTokens;
+    }
+
+    public void setTotalTokens(long totalTokens) {
+        this.totalTokens = totalTokens;
+    }
+}
@@ -0,0 +1,56 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Review count and issue totals of one AI provider
+ */
+public class ProviderStatistics {
+
+    private String aiProvider;
+    private long reviewCount;
+    private long totalIssues;
+    private double averageIssues;
+
+    // Constructors
+    public ProviderStatistics() {}
+
+    public ProviderStatistics(String aiProvider, Long reviewCount, Long totalIssues) {
+        this.aiProvider = aiProvider;
+        this.reviewCount = reviewCount != null ? reviewCount : 0;
+        this.totalIssues = totalIssues != null ? totalIssues : 0;
+        this.averageIssues = this.reviewCount > 0
+                ? Math.round(this.totalIssues * 100.0 / this.reviewCount) / 100.0 : 0.0;
+    }
+
+    // Getters and Setters
+    public String getAiProvider() {
+        return aiProvider;
+    }
+
+    public void setAiProvider(String aiProvider) {
+        this.aiProvider = aiProvider;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getTotalIssues() {
+        return totalIssues;
+    }
+
+    public void setTotalIssues(long totalIssues) {
+        this.totalIssues = totalIssues;
+    }
+
+    public double getAverageIssues() {
+        return averageIssues;
+    }
+
+    public void setAverageIssues(double averageIssues) {
+        this.averageIssues = averageIssues;
+    }
+}
@@ -0,0 +1,55 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Outcome of a bulk NDJSON import
+ */
+public class ReviewImportResult {
+
+    private long imported;
+    private long skipped;
+    private long elapsedMillis;
+    private long reviewsPerSecond;
+
+    // Constructors
+    public ReviewImportResult() {}
+
+    public ReviewImportResult(long imported, long skipped, long elapsedMillis) {
+        this.imported = imported;
+        this.skipped = skipped;
+        this.elapsedMillis = elapsedMillis;
+        this.reviewsPerSecond = elapsedMillis > 0 ? imported * 1000 / elapsedMillis : imported;
+    }
+
+    // Getters and Setters
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getReviewsPerSecond() {
+        return reviewsPerSecond;
+    }
+
+    public void setReviewsPerSecond(long reviewsPerSecond) {
+        this.reviewsPerSecond = reviewsPerSecond;
+    }
+}
@@ -0,0 +1,60 @@
+package com.javacodereviewer.backend.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated review listing.
+ * Pass nextCursor back as the cursor parameter to get the following page; it is null on the last page.
+ */
+public class ReviewPage {
+
+    private List<ReviewSummary> items;
+    private int size;
+    private String nextCursor;
+    private Long totalHits;
+
+    // Constructors
+    public ReviewPage() {}
+
+    public ReviewPage(List<ReviewSummary> items, int size, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ReviewSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReviewSummary> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Number of matching reviews; only set on search results
+     */
+    public Long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(Long totalHits) {
+        this.totalHits = totalHits;
+    }
+}
@@ -0,0 +1,48 @@
+package com.javacodereviewer.backend.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Review totals overall and per AI provider
+ */
+public class ReviewStatistics {
+
+    private long totalReviews;
+    private List<ProviderStatistics> providerStatistics;
+    private LocalDateTime lastReconciled;
+
+    // Constructors
+    public ReviewStatistics() {}
+
+    public ReviewStatistics(long totalReviews, List<ProviderStatistics> providerStatistics, LocalDateTime lastReconciled) {
+        this.totalReviews = totalReviews;
+        this.providerStatistics = providerStatistics;
+        this.lastReconciled = lastReconciled;
+    }
+
+    // Getters and Setters
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public List<ProviderStatistics> getProviderStatistics() {
+        return providerStatistics;
+    }
+
+    public void setProviderStatistics(List<ProviderStatistics> providerStatistics) {
+        this.providerStatistics = providerStatistics;
+    }
+
+    public LocalDateTime getLastReconciled() {
+        return lastReconciled;
+    }
+
+    public void setLastReconciled(LocalDateTime lastReconciled) {
+        this.lastReconciled = lastReconciled;
+    }
+}
@@ -0,0 +1,100 @@
+package com.javacodereviewer.backend.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a stored review for list endpoints; leaves out the code and the findings
+ */
+public class ReviewSummary {
+
+    private Long id;
+    private String fileName;
+    private String aiProvider;
+    private LocalDateTime reviewTime;
+    private Integer totalIssues;
+    private Integer maxCyclomaticComplexity;
+    private String summary;
+    private Float score;
+
+    // Constructors
+    public ReviewSummary() {}
+
+    public ReviewSummary(Long id, String fileName, String aiProvider, LocalDateTime reviewTime,
+                         Integer totalIssues, Integer maxCyclomaticComplexity, String summary) {
+        this.id = id;
+        this.fileName = fileName;
+        this.aiProvider = aiProvider;
+        this.reviewTime = reviewTime;
+        this.totalIssues = totalIssues;
+        this.maxCyclomaticComplexity = maxCyclomaticComplexity;
+        this.summary = summary;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getAiProvider() {
+        return aiProvider;
+    }
+
+    public void setAiProvider(String aiProvider) {
+        this.aiProvider = aiProvider;
+    }
+
+    public LocalDateTime getReviewTime() {
+        return reviewTime;
+    }
+
+    public void setReviewTime(LocalDateTime reviewTime) {
+        this.reviewTime = reviewTime;
+    }
+
+    public Integer getTotalIssues() {
+        return totalIssues;
+    }
+
+    public void setTotalIssues(Integer totalIssues) {
+        this.totalIssues = totalIssues;
+    }
+
+    public Integer getMaxCyclomaticComplexity() {
+        return maxCyclomaticComplexity;
+    }
+
+    public void setMaxCyclomaticComplexity(Integer maxCyclomaticComplexity) {
+        this.maxCyclomaticComplexity = maxCyclomaticComplexity;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Relevance score; only set on search results
+     */
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,55 @@
+package com.javacodereviewer.backend.model;
+
+/**
+ * Token usage reported by an AI provider for a single review
+ */
+public class TokenUsage {
+
+    private String model;
+    private long promptTokens;
+    private long completionTokens;
+    private long totalTokens;
+
+    // Constructors
+    public TokenUsage() {}
+
+    public TokenUsage(String model, long promptTokens, long completionTokens, long totalTokens) {
+        this.model = model;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.totalTokens = totalTokens;
+    }
+
+    // Getters and Setters
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public long getTotalTokens() {
+        return totalTokens;
+    }
+
+    public void setTotalTokens(long totalTokens) {
+        this.totalTokens = totalTokens;
+    }
+}
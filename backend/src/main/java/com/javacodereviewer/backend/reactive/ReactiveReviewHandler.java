@@ -0,0 +1,160 @@
+package com.javacodereviewer.backend.reactive;
+
+import com.javacodereviewer.backend.model.CodeReviewRequest;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.service.ReactiveAIReviewService;
+import com.javacodereviewer.backend.service.ReviewCachePolicy;
+import com.javacodereviewer.backend.service.ReviewRecorder;
+import com.javacodereviewer.backend.service.ReviewResponseStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Handlers of the reactive review endpoints, the non-blocking counterparts of CodeReviewController.
+ *
+ * Provider calls never hold a thread. Persistence and the stored-response lookup are blocking
+ * JDBC and run on the bounded elastic scheduler, off the event loop.
+ */
+@Component
+public class ReactiveReviewHandler {
+
+    private final ReactiveAIReviewService reactiveAIReviewService;
+    private final ReviewRecorder reviewRecorder;
+    private final ReviewResponseStore reviewResponseStore;
+    private final ReviewCachePolicy reviewCachePolicy;
+    private final Validator validator;
+
+    public ReactiveReviewHandler(ReactiveAIReviewService reactiveAIReviewService, ReviewRecorder reviewRecorder,
+                                 ReviewResponseStore reviewResponseStore, ReviewCachePolicy reviewCachePolicy,
+                                 Validator validator) {
+        this.reactiveAIReviewService = reactiveAIReviewService;
+        this.reviewRecorder = reviewRecorder;
+        this.reviewResponseStore = reviewResponseStore;
+        this.reviewCachePolicy = reviewCachePolicy;
+        this.validator = validator;
+    }
+
+    /**
+     * POST /api/reviews/review
+     */
+    public Mono<ServerResponse> review(ServerRequest request) {
+        String clientId = clientId(request);
+        return request.bodyToMono(CodeReviewRequest.class)
+                .flatMap(body -> {
+                    String invalid = validate(body, clientId);
+                    if (invalid != null) {
+                        return ServerResponse.badRequest().bodyValue(errorResponse(invalid));
+                    }
+                    return reactiveAIReviewService.reviewCode(body.getCode(), body.getAiProvider(), body.getFileName())
+                            .flatMap(response -> record(body, response, clientId))
+                            .flatMap(response -> ServerResponse.ok().bodyValue(response))
+                            .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                    .bodyValue(errorResponse("Error during code review: " + e.getMessage())));
+                });
+    }
+
+    /**
+     * POST /api/reviews/review/stream: "delta" events with provider text, then one "review" event
+     */
+    public Mono<ServerResponse> streamReview(ServerRequest request) {
+        String clientId = clientId(request);
+        return request.bodyToMono(CodeReviewRequest.class)
+                .flatMap(body -> {
+                    String invalid = validate(body, clientId);
+                    if (invalid != null) {
+                        return ServerResponse.badRequest().bodyValue(errorResponse(invalid));
+                    }
+                    Flux<ServerSentEvent<Object>> events = reactiveAIReviewService
+                            .streamReview(body.getCode(), body.getAiProvider(), body.getFileName())
+                            .concatMap(event -> event.review() == null
+                                    ? Mono.just(ServerSentEvent.builder((Object) event.delta()).event("delta").build())
+                                    : record(body, event.review(), clientId)
+                                            .map(response -> ServerSentEvent.builder((Object) response).event("review").build()))
+                            .onErrorResume(e -> Mono.just(ServerSentEvent.builder((Object) errorResponse(
+                                    "Error during code review: " + e.getMessage())).event("error").build()));
+                    return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events, ServerSentEvent.class);
+                });
+    }
+
+    /**
+     * GET /api/reviews/{id}, served from the stored pre-serialized JSON like the MVC endpoint
+     */
+    public Mono<ServerResponse> getReview(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        String etag = reviewCachePolicy.eTag(id);
+        return Mono.fromCallable(() -> reviewResponseStore.exists(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(exists -> !exists ? ServerResponse.notFound().build()
+                        : request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> send(request, id, etag))));
+    }
+
+    private Mono<ServerResponse> send(ServerRequest request, long id, String etag) {
+        return Mono.fromCallable(() -> reviewResponseStore.find(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(json -> json.isEmpty() ? ServerResponse.notFound().build() : send(request, etag, json.get()));
+    }
+
+    private Mono<ServerResponse> send(ServerRequest request, String etag, byte[] json) {
+        String acceptEncoding = request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? json : ReviewResponseStore.gunzip(json);
+        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                .eTag(etag)
+                .cacheControl(reviewCachePolicy.getCacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.bodyValue(body);
+    }
+
+    private Mono<CodeReviewResponse> record(CodeReviewRequest request, CodeReviewResponse response, String clientId) {
+        return Mono.fromCallable(() -> {
+            reviewRecorder.record(request, response, clientId);
+            return response;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String validate(CodeReviewRequest request, String clientId) {
+        if (clientId.length() > CodeReviewRequest.MAX_CLIENT_ID_LENGTH) {
+            return "X-Client-Id must not exceed " + CodeReviewRequest.MAX_CLIENT_ID_LENGTH + " characters";
+        }
+        Set<ConstraintViolation<CodeReviewRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private static String clientId(ServerRequest request) {
+        String clientId = request.headers().firstHeader("X-Client-Id");
+        return clientId != null ? clientId : "anonymous";
+    }
+
+    private static CodeReviewResponse errorResponse(String message) {
+        CodeReviewResponse response = new CodeReviewResponse();
+        response.setSuccess(false);
+        response.setErrorMessage(message);
+        return response;
+    }
+}
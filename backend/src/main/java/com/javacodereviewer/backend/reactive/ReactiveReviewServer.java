@@ -0,0 +1,105 @@
+package com.javacodereviewer.backend.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javacodereviewer.backend.admission.AdmissionWebFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+
+/**
+ * Optional non-blocking review API on its own Reactor Netty port (app.reactive.enabled).
+ *
+ * The application stays a servlet application; this server runs next to Tomcat and serves the
+ * review, streamed review and single-review endpoints from ReactiveReviewHandler under the
+ * same paths, so clients switch by changing the port.
+ */
+@Component
+public class ReactiveReviewServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReviewServer.class);
+
+    private final ReactiveReviewHandler handler;
+    private final AdmissionWebFilter admissionWebFilter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.reactive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reactive.port:8081}")
+    private int port;
+
+    private DisposableServer server;
+
+    public ReactiveReviewServer(ReactiveReviewHandler handler, AdmissionWebFilter admissionWebFilter,
+                                ObjectMapper objectMapper) {
+        this.handler = handler;
+        this.admissionWebFilter = admissionWebFilter;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .POST("/api/reviews/review", handler::review)
+                .POST("/api/reviews/review/stream", handler::streamReview)
+                .GET("/api/reviews/{id}", handler::getReview)
+                .build();
+        // Same JSON settings as the MVC endpoints
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(routes, strategies))
+                .filter(new CorsWebFilter(corsConfiguration()), admissionWebFilter)
+                .build();
+        server = HttpServer.create()
+                .port(port)
+                .compress(1024)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive review API listening on port {}", server.port());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private static UrlBasedCorsConfigurationSource corsConfiguration() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:3000", "http://127.0.0.1:3000"));
+        cors.setAllowedMethods(List.of("GET", "POST", "OPTIONS"));
+        cors.addAllowedHeader("*");
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", cors);
+        return source;
+    }
+}
@@ -1,13 +1,22 @@
 package com.javacodereviewer.backend.repository;
 
 import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.model.ProviderStatistics;
+import com.javacodereviewer.backend.model.ReviewSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for CodeReview entity
@@ -15,6 +24,21 @@ import java.util.List;
 @Repository
 public interface CodeReviewRepository extends JpaRepository<CodeReview, Long> {
     
+    String SUMMARY_SELECT = "SELECT new com.javacodereviewer.backend.model.ReviewSummary("
+            + "cr.id, cr.fileName, cr.aiProvider, cr.reviewTime, cr.totalIssues, "
+            + "cr.metrics.maxCyclomaticComplexity, cr.summary) FROM CodeReview cr ";
+    
+    String BEFORE_CURSOR = "(cr.reviewTime < :beforeTime OR (cr.reviewTime = :beforeTime AND cr.id < :beforeId)) ";
+    
+    String NEWEST_FIRST = "ORDER BY cr.reviewTime DESC, cr.id DESC";
+    
+    /**
+     * Load a review together with its findings in one query
+     */
+    @Override
+    @EntityGraph(attributePaths = "findings")
+    Optional<CodeReview> findById(Long id);
+    
     /**
      * Find reviews by AI provider
      */
@@ -23,6 +47,7 @@ public interface CodeReviewRepository extends JpaRepository<CodeReview, Long> {
     /**
      * Find reviews by file name
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CodeReview> findByFileNameContainingIgnoreCase(String fileName);
     
     /**
@@ -36,20 +61,68 @@ public interface CodeReviewRepository extends JpaRepository<CodeReview, Long> {
     List<CodeReview> findByTotalIssuesGreaterThan(Integer issues);
     
     /**
-     * Get recent reviews (last 10)
+     * Find reviews whose most complex method exceeds the given cyclomatic complexity
+     */
+    List<CodeReview> findByMetricsMaxCyclomaticComplexityGreaterThan(Integer complexity);
+    
+    /**
+     * Ids of the newest reviews; the limit comes from the Pageable and is applied by the database
      */
-    @Query("SELECT cr FROM CodeReview cr ORDER BY cr.reviewTime DESC")
-    List<CodeReview> findRecentReviews();
+    @Query("SELECT cr.id FROM CodeReview cr " + NEWEST_FIRST)
+    List<Long> findRecentIds(Pageable page);
+    
+    /**
+     * Ids of the reviews saved at or after the given time, for catching up the search index
+     */
+    @Query("SELECT cr.id FROM CodeReview cr WHERE cr.reviewTime >= :since")
+    List<Long> findIdsSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Load reviews together with their findings, in no particular order
+     */
+    @EntityGraph(attributePaths = "findings")
+    List<CodeReview> findByIdIn(Collection<Long> ids);
     
     /**
      * Get statistics by AI provider
      */
-    @Query("SELECT cr.aiProvider, COUNT(cr), AVG(cr.totalIssues) FROM CodeReview cr GROUP BY cr.aiProvider")
-    List<Object[]> getStatisticsByProvider();
+    @Query("SELECT new com.javacodereviewer.backend.model.ProviderStatistics(cr.aiProvider, COUNT(cr), "
+            + "SUM(COALESCE(cr.totalIssues, 0))) FROM CodeReview cr GROUP BY cr.aiProvider")
+    List<ProviderStatistics> getStatisticsByProvider();
+    
+    /**
+     * Page of review summaries older than the (reviewTime, id) cursor, newest first
+     */
+    @Query(SUMMARY_SELECT + "WHERE " + BEFORE_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ReviewSummary> findSummariesBefore(@Param("beforeTime") LocalDateTime beforeTime,
+                                            @Param("beforeId") Long beforeId, Pageable page);
+    
+    /**
+     * Page of review summaries for one AI provider older than the cursor, newest first
+     */
+    @Query(SUMMARY_SELECT + "WHERE cr.aiProvider = :provider AND " + BEFORE_CURSOR + NEWEST_FIRST)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ReviewSummary> findSummariesByProviderBefore(@Param("provider") String provider,
+                                                      @Param("beforeTime") LocalDateTime beforeTime,
+                                                      @Param("beforeId") Long beforeId, Pageable page);
+    
+    /**
+     * Review summaries for the given ids, in no particular order
+     */
+    @Query(SUMMARY_SELECT + "WHERE cr.id IN :ids")
+    List<ReviewSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Hash of a review's stored source, without loading the review
+     */
+    @Query("SELECT cr.sourceHash FROM CodeReview cr WHERE cr.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<String> findSourceHashById(@Param("id") Long id);
     
     /**
-     * Search reviews by summary content
+     * Next batch of reviews in id order, for re-indexing
      */
-    @Query("SELECT cr FROM CodeReview cr WHERE LOWER(cr.summary) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<CodeReview> searchBySummary(@Param("keyword") String keyword);
+    @Query("SELECT cr FROM CodeReview cr WHERE cr.id > :afterId ORDER BY cr.id")
+    List<CodeReview> findBatchAfterId(@Param("afterId") Long afterId, Pageable page);
 }
@@ -0,0 +1,418 @@
+package com.javacodereviewer.backend.search;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.entity.ReviewFinding;
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over review summaries, findings and file names.
+ *
+ * The index follows ReviewSavedEvent, ReviewDeletedEvent, ReviewsArchivedEvent and ReviewsImportedEvent. Searchers are reopened
+ * near-real-time every app.search.refresh-interval-ms rather than per change, so a burst of
+ * saves shares one reopen. Commits to disk happen on a schedule and at shutdown. On startup the index is rebuilt from the database when its
+ * document count does not match, when the last run did not shut down cleanly, or always with
+ * app.search.rebuild-on-startup. Results are ranked by score and paged with searchAfter.
+ *
+ * Events only cover changes made by this instance. With app.search.sync.enabled (the shared
+ * profile) the index also polls the database: reviews saved since the last poll are added, and a
+ * document count that still differs from the database on two polls in a row, which means
+ * reviews were deleted, archived or imported elsewhere, triggers a rebuild.
+ */
+@Service
+public class ReviewSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String SORT_ID = "id_sort";
+    private static final String SUMMARY = "summary";
+    private static final String FINDINGS = "findings";
+    private static final String FILE_NAME = "fileName";
+
+    // Commit data key, "true" only in the commit written at shutdown
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+
+    // Reviews are stamped before they are committed, so each poll looks back this far
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private static final String[] SEARCH_FIELDS = {SUMMARY, FINDINGS, FILE_NAME};
+    private static final Map<String, Float> BOOSTS = Map.of(SUMMARY, 2.0f, FINDINGS, 1.0f, FILE_NAME, 1.5f);
+
+    // Best match first; the review id breaks ties so searchAfter cursors stay stable
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(SORT_ID, SortField.Type.LONG, true));
+
+    private final CodeReviewRepository codeReviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    @Value("${app.search.index-path:}")
+    private String indexPath;
+
+    @Value("${app.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Value("${app.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.sync.enabled:false}")
+    private boolean syncEnabled;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private LocalDateTime lastSync;
+    private int countMismatches;
+
+    public ReviewSearchIndex(CodeReviewRepository codeReviewRepository, TransactionTemplate transactionTemplate) {
+        this.codeReviewRepository = codeReviewRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        boolean clean = false;
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                clean |= CLEAN_SHUTDOWN.equals(entry.getKey()) && "true".equals(entry.getValue());
+            }
+        }
+        // Any commit before the next shutdown records that this run has not finished
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "false").entrySet());
+
+        lastSync = LocalDateTime.now();
+        long indexed = writer.getDocStats().numDocs;
+        long stored = codeReviewRepository.count();
+        if (rebuildOnStartup || !clean || indexed != stored) {
+            log.info("Search index holds {} reviews, the database has {} (clean shutdown: {}); rebuilding",
+                    indexed, stored, clean);
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "true").entrySet());
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Re-index every stored review in id order, one batch per transaction
+     */
+    public synchronized long rebuild() throws IOException {
+        writer.deleteAll();
+        long count = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Document> batch = transactionTemplate.execute(status -> {
+                List<Document> documents = new ArrayList<>();
+                for (CodeReview review : codeReviewRepository.findBatchAfterId(from, PageRequest.ofSize(rebuildBatchSize))) {
+                    documents.add(toDocument(review));
+                }
+                return documents;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            writer.addDocuments(batch);
+            count += batch.size();
+            afterId = batch.get(batch.size() - 1).getField(SORT_ID).numericValue().longValue();
+        }
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        log.info("Indexed {} reviews for search", count);
+        return count;
+    }
+
+    @EventListener
+    public void onReviewSaved(ReviewSavedEvent event) {
+        CodeReview review = event.review();
+        try {
+            writer.updateDocument(new Term(ID, review.getId().toString()), toDocument(review));
+        } catch (IOException e) {
+            // The review itself is stored; it will be picked up by the next rebuild
+            log.error("Failed to index review {}: {}", review.getId(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        try {
+            writer.deleteDocuments(new Term(ID, event.id().toString()));
+        } catch (IOException e) {
+            log.error("Failed to remove review {} from the search index: {}", event.id(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        try {
+            Term[] terms = event.ids().stream().map(id -> new Term(ID, id.toString())).toArray(Term[]::new);
+            writer.deleteDocuments(terms);
+        } catch (IOException e) {
+            log.error("Failed to remove {} archived reviews from the search index: {}", event.ids().size(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Index a bulk import in one pass over its id range instead of one event per review
+     */
+    @EventListener
+    public synchronized void onReviewsImported(ReviewsImportedEvent event) {
+        long count = 0;
+        long afterId = event.firstId() - 1;
+        try {
+            while (afterId < event.lastId()) {
+                long from = afterId;
+                List<CodeReview> batch = transactionTemplate.execute(status -> {
+                    List<CodeReview> reviews = codeReviewRepository.findBatchAfterId(from, PageRequest.ofSize(rebuildBatchSize));
+                    // Touch the findings while the session is open
+                    reviews.forEach(review -> review.getFindings().size());
+                    return reviews;
+                });
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                for (CodeReview review : batch) {
+                    if (review.getId() <= event.lastId()) {
+                        // Reviews saved during the import share the range and may be indexed already
+                        writer.updateDocument(new Term(ID, review.getId().toString()), toDocument(review));
+                        count++;
+                    }
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            log.info("Indexed {} imported reviews for search", count);
+        } catch (IOException e) {
+            log.error("Failed to index imported reviews: {}; they will be picked up by the next rebuild", e.getMessage());
+        }
+    }
+    
+    /**
+     * Catch up with reviews written by other instances; see the class comment
+     */
+    @Scheduled(fixedDelayString = "${app.search.sync.interval-ms:5000}")
+    public synchronized void sync() {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            List<Long> missing = new ArrayList<>();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                for (Long id : codeReviewRepository.findIdsSince(lastSync.minus(SYNC_OVERLAP))) {
+                    if (searcher.count(new TermQuery(new Term(ID, id.toString()))) == 0) {
+                        missing.add(id);
+                    }
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+            for (int from = 0; from < missing.size(); from += rebuildBatchSize) {
+                List<Long> ids = missing.subList(from, Math.min(missing.size(), from + rebuildBatchSize));
+                List<Document> documents = transactionTemplate.execute(status -> codeReviewRepository.findByIdIn(ids)
+                        .stream().map(ReviewSearchIndex::toDocument).toList());
+                for (Document document : documents) {
+                    writer.updateDocument(new Term(ID, document.get(ID)), document);
+                }
+            }
+            lastSync = started;
+
+            searcherManager.maybeRefreshBlocking();
+            searcher = searcherManager.acquire();
+            long indexed;
+            try {
+                indexed = searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+            long stored = codeReviewRepository.count();
+            // A save landing between the two counts shows up as a one-off difference
+            countMismatches = indexed == stored ? 0 : countMismatches + 1;
+            if (countMismatches >= 2) {
+                log.info("Search index holds {} reviews but the database has {}; rebuilding", indexed, stored);
+                countMismatches = 0;
+                rebuild();
+            }
+        } catch (IOException e) {
+            log.error("Failed to sync the search index with the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Make recent changes visible to searches; a no-op when nothing changed
+     */
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:250}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to refresh the search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Flush pending index changes to the directory
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:10000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit the search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ranked search; accepts Lucene query syntax ("exact phrase", field:term, AND/OR) and falls
+     * back to plain terms when the query does not parse
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SearchResult search(String queryText, String cursor, int size) throws IOException {
+        Query query = parse(queryText);
+        FieldDoc after = decodeCursor(cursor);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopFieldDocs top = after == null
+                    ? searcher.search(query, size + 1, RANKING, true)
+                    : searcher.searchAfter(after, query, size + 1, RANKING, true);
+
+            List<SearchHit> hits = new ArrayList<>();
+            ScoreDoc[] docs = top.scoreDocs;
+            for (int i = 0; i < Math.min(size, docs.length); i++) {
+                FieldDoc doc = (FieldDoc) docs[i];
+                hits.add(new SearchHit((Long) doc.fields[1], doc.score));
+            }
+            String nextCursor = docs.length > size ? encodeCursor((FieldDoc) docs[size - 1]) : null;
+            return new SearchResult(hits, top.totalHits.value, nextCursor);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, BOOSTS);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + queryText);
+            }
+        }
+    }
+
+    private static Document toDocument(CodeReview review) {
+        Document document = new Document();
+        document.add(new StringField(ID, review.getId().toString(), Field.Store.NO));
+        document.add(new NumericDocValuesField(SORT_ID, review.getId()));
+        if (review.getSummary() != null) {
+            document.add(new TextField(SUMMARY, review.getSummary(), Field.Store.NO));
+        }
+        for (ReviewFinding finding : review.getFindings()) {
+            if (finding.getMessage() != null) {
+                document.add(new TextField(FINDINGS, finding.getMessage(), Field.Store.NO));
+            }
+        }
+        if (review.getFileName() != null) {
+            document.add(new TextField(FILE_NAME, review.getFileName(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static String encodeCursor(FieldDoc last) {
+        String value = Float.floatToIntBits(last.score) + "|" + last.fields[1];
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FieldDoc decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            float score = Float.intBitsToFloat(Integer.parseInt(parts[0]));
+            long id = Long.parseLong(parts[1]);
+            // The doc number is not needed: the unique id already orders every tie
+            return new FieldDoc(-1, score, new Object[]{score, id});
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * One matching review and its relevance score
+     */
+    public record SearchHit(Long id, float score) {}
+
+    /**
+     * One page of ranked hits
+     */
+    public record SearchResult(List<SearchHit> hits, long totalHits, String nextCursor) {}
+}
@@ -3,7 +3,16 @@ package com.javacodereviewer.backend.service;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.javacodereviewer.backend.analysis.CodeMetricsCalculator;
+import com.javacodereviewer.backend.model.CodeMetrics;
 import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.model.TokenUsage;
+import com.javacodereviewer.backend.tracing.OkHttpTracingEventListener;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import okhttp3.*;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -21,8 +30,12 @@ import java.util.concurrent.TimeUnit;
 public class AIReviewService {
     
     private final DemoAIService demoAIService;
+    private final Tracer tracer;
     
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
+    static final String OPENAI_PROVIDER = "OpenAI GPT-4";
+    private static final String OPENAI_MODEL = "gpt-4";
+    
+    public static final String LOCAL_PROVIDER = "Local Analyzer";
     
     private final OkHttpClient httpClient;
     private final Gson gson;
@@ -30,12 +43,17 @@ public class AIReviewService {
     @Value("${app.ai.openai.api-key:}")
     private String openaiApiKey;
     
-    public AIReviewService(DemoAIService demoAIService) {
+    @Value("${app.ai.openai.url:https://api.openai.com/v1/chat/completions}")
+    private String openaiUrl;
+    
+    public AIReviewService(DemoAIService demoAIService, Tracer tracer) {
         this.demoAIService = demoAIService;
+        this.tracer = tracer;
         this.httpClient = new OkHttpClient.Builder()
                 .connectTimeout(30, TimeUnit.SECONDS)
                 .readTimeout(60, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
+                .eventListenerFactory(OkHttpTracingEventListener.factory(tracer))
                 .build();
         this.gson = new Gson();
     }
@@ -44,55 +62,78 @@ public class AIReviewService {
      * Reviews Java code using the specified AI provider
      */
     public CodeReviewResponse reviewCode(String code, String provider, String fileName) throws Exception {
+        // Metrics come from one scan of the source and are attached on every path
+        CodeMetrics metrics = CodeMetricsCalculator.compute(code);
+        
+        // The local analyzer answers instantly without any provider call
+        if (LOCAL_PROVIDER.equals(provider)) {
+            return demoAIService.reviewCodeLocal(code, provider, fileName, metrics);
+        }
+        
         // Check if API key is available for the provider
         String apiKey = getAPIKey(provider);
         if (apiKey == null || apiKey.trim().isEmpty()) {
             // Use demo service when API key is not available
-            return demoAIService.reviewCodeDemo(code, provider, fileName);
+            return demoAIService.reviewCodeDemo(code, provider, fileName, metrics);
         }
         
         try {
-            String response = callAIAPI(code, provider);
-            return parseAIResponse(response, provider, fileName, code);
+            ProviderReply reply = callAIAPI(code, provider);
+            return toResponse(reply, code, provider, fileName, metrics);
         } catch (Exception e) {
             // Fallback to demo service if API call fails
-            CodeReviewResponse demoResponse = demoAIService.reviewCodeDemo(code, provider, fileName);
-            demoResponse.setSummary("⚠️ **API Error - Demo Mode Activated**\n\n" + 
-                "API call failed: " + e.getMessage() + "\n\n" + demoResponse.getSummary());
-            return demoResponse;
+            return fallbackResponse(e, code, provider, fileName, metrics);
         }
     }
     
-    private String callAIAPI(String code, String provider) throws IOException {
+    CodeReviewResponse toResponse(ProviderReply reply, String code, String provider, String fileName, CodeMetrics metrics) {
+        CodeReviewResponse result = parseAIResponse(reply.content(), provider, fileName, code);
+        result.setTokenUsage(reply.usage());
+        result.setMetrics(metrics);
+        return result;
+    }
+    
+    CodeReviewResponse fallbackResponse(Throwable e, String code, String provider, String fileName, CodeMetrics metrics) {
+        CodeReviewResponse demoResponse = demoAIService.reviewCodeDemo(code, provider, fileName, metrics);
+        demoResponse.setSummary("⚠️ **API Error - Demo Mode Activated**\n\n" + 
+            "API call failed: " + e.getMessage() + "\n\n" + demoResponse.getSummary());
+        return demoResponse;
+    }
+    
+    private ProviderReply callAIAPI(String code, String provider) throws IOException {
         String apiKey = getAPIKey(provider);
         
-        if ("OpenAI GPT-4".equals(provider)) {
+        if (OPENAI_PROVIDER.equals(provider)) {
             return callOpenAI(code, apiKey);
         } else {
             throw new IllegalArgumentException("Unsupported AI provider: " + provider + ". Only OpenAI GPT-4 is supported.");
         }
     }
     
-    private String callOpenAI(String code, String apiKey) throws IOException {
-        String prompt = buildPrompt(code);
-        
-        JsonObject requestBody = new JsonObject();
-        requestBody.addProperty("model", "gpt-4");
-        requestBody.addProperty("temperature", 0.3);
-        requestBody.addProperty("max_tokens", 2000);
-        
-        JsonObject message = new JsonObject();
-        message.addProperty("role", "user");
-        message.addProperty("content", prompt);
-        requestBody.add("messages", gson.toJsonTree(new JsonObject[]{message}));
-        
+    private ProviderReply callOpenAI(String code, String apiKey) throws IOException {
+        Span span = tracer.spanBuilder("AIReviewService.callOpenAI")
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("code.length", code.length())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return executeOpenAICall(code, apiKey);
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+    
+    private ProviderReply executeOpenAICall(String code, String apiKey) throws IOException {
         RequestBody body = RequestBody.create(
-            requestBody.toString(),
+            buildOpenAIRequest(code, false).toString(),
             MediaType.get("application/json; charset=utf-8")
         );
         
         Request request = new Request.Builder()
-                .url(OPENAI_API_URL)
+                .url(openaiUrl)
                 .addHeader("Authorization", "Bearer " + apiKey)
                 .addHeader("Content-Type", "application/json")
                 .post(body)
@@ -103,13 +144,55 @@ public class AIReviewService {
                 throw new IOException("OpenAI API call failed: " + response.code() + " " + response.message());
             }
             
-            String responseBody = response.body().string();
-            JsonObject jsonResponse = JsonParser.parseString(responseBody).getAsJsonObject();
-            return jsonResponse.getAsJsonArray("choices")
-                    .get(0).getAsJsonObject()
-                    .getAsJsonObject("message")
-                    .get("content").getAsString();
+            return parseOpenAIReply(response.body().string());
+        }
+    }
+    
+    /**
+     * Chat completion request body; a streamed request also asks for the usage in the last chunk
+     */
+    JsonObject buildOpenAIRequest(String code, boolean stream) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", OPENAI_MODEL);
+        requestBody.addProperty("temperature", 0.3);
+        requestBody.addProperty("max_tokens", 2000);
+        
+        JsonObject message = new JsonObject();
+        message.addProperty("role", "user");
+        message.addProperty("content", buildPrompt(code));
+        requestBody.add("messages", gson.toJsonTree(new JsonObject[]{message}));
+        
+        if (stream) {
+            requestBody.addProperty("stream", true);
+            JsonObject streamOptions = new JsonObject();
+            streamOptions.addProperty("include_usage", true);
+            requestBody.add("stream_options", streamOptions);
         }
+        return requestBody;
+    }
+    
+    ProviderReply parseOpenAIReply(String responseBody) {
+        JsonObject jsonResponse = JsonParser.parseString(responseBody).getAsJsonObject();
+        String content = jsonResponse.getAsJsonArray("choices")
+                .get(0).getAsJsonObject()
+                .getAsJsonObject("message")
+                .get("content").getAsString();
+        return new ProviderReply(content, parseUsage(jsonResponse));
+    }
+    
+    /**
+     * Extract the usage block of a chat completion response, if the provider sent one
+     */
+    TokenUsage parseUsage(JsonObject jsonResponse) {
+        if (!jsonResponse.has("usage") || !jsonResponse.get("usage").isJsonObject()) {
+            return null;
+        }
+        JsonObject usage = jsonResponse.getAsJsonObject("usage");
+        String model = jsonResponse.has("model") ? jsonResponse.get("model").getAsString() : OPENAI_MODEL;
+        long promptTokens = usage.has("prompt_tokens") ? usage.get("prompt_tokens").getAsLong() : 0;
+        long completionTokens = usage.has("completion_tokens") ? usage.get("completion_tokens").getAsLong() : 0;
+        long totalTokens = usage.has("total_tokens") ? usage.get("total_tokens").getAsLong() : promptTokens + completionTokens;
+        return new TokenUsage(model, promptTokens, completionTokens, totalTokens);
     }
     
     private String buildPrompt(String code) {
@@ -143,7 +226,18 @@ public class AIReviewService {
             """, code);
     }
     
-    private CodeReviewResponse parseAIResponse(String response, String provider, String fileName, String originalCode) {
+    CodeReviewResponse parseAIResponse(String response, String provider, String fileName, String originalCode) {
+        Span span = tracer.spanBuilder("AIReviewService.parseAIResponse")
+                .setAttribute("response.length", response.length())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return parseStructuredResponse(response, provider, fileName);
+        } finally {
+            span.end();
+        }
+    }
+    
+    private CodeReviewResponse parseStructuredResponse(String response, String provider, String fileName) {
         CodeReviewResponse result = new CodeReviewResponse();
         result.setAiProvider(provider);
         result.setFileName(fileName);
@@ -195,10 +289,19 @@ public class AIReviewService {
         return result;
     }
     
-    private String getAPIKey(String provider) {
-        if ("OpenAI GPT-4".equals(provider)) {
+    String getOpenAIUrl() {
+        return openaiUrl;
+    }
+    
+    String getAPIKey(String provider) {
+        if (OPENAI_PROVIDER.equals(provider)) {
             return openaiApiKey;
         }
         return null;
     }
+    
+    /**
+     * Raw provider answer together with the token usage it reported
+     */
+    record ProviderReply(String content, TokenUsage usage) {}
 }
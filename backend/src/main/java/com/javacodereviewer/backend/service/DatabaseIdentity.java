@@ -0,0 +1,44 @@
+package com.javacodereviewer.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * The random id drawn by the V8 migration when this database was created.
+ *
+ * Review ids are only unique within one database: the in-memory database starts over at 1 on
+ * every restart, and two file databases number their reviews independently. Pairing an id with
+ * the database identity names one review for good.
+ */
+@Service
+public class DatabaseIdentity {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url:jdbc:h2:mem:testdb}")
+    private String datasourceUrl;
+
+    private String id;
+
+    public DatabaseIdentity(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        id = jdbcTemplate.queryForObject("SELECT CAST(id AS VARCHAR) FROM database_identity", String.class);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * False for an in-memory database, whose reviews and ids do not survive a restart
+     */
+    public boolean isDurable() {
+        return !datasourceUrl.startsWith("jdbc:h2:mem:");
+    }
+}
@@ -0,0 +1,69 @@
+package com.javacodereviewer.backend.service;
+
+import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.FileStore;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Periodic online compaction of a file-backed H2 database (durable profile).
+ *
+ * H2 only offers SHUTDOWN COMPACT through SQL, which closes the database, so this goes to the
+ * embedded MVStore instead: when the live data fill rate drops below the target, chunks are
+ * rewritten for up to app.storage.compaction.max-time-ms while the database stays online.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.compaction.enabled", havingValue = "true")
+public class H2StorageCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(H2StorageCompactor.class);
+
+    private final DataSource dataSource;
+
+    @Value("${app.storage.compaction.target-fill-rate:80}")
+    private int targetFillRate;
+
+    @Value("${app.storage.compaction.max-time-ms:2000}")
+    private int maxTimeMs;
+
+    public H2StorageCompactor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Scheduled(initialDelayString = "${app.storage.compaction.interval-ms:3600000}",
+            fixedDelayString = "${app.storage.compaction.interval-ms:3600000}")
+    public void compact() {
+        try (Connection connection = dataSource.getConnection()) {
+            Session session = connection.unwrap(JdbcConnection.class).getSession();
+            if (!(session instanceof SessionLocal local) || !local.getDatabase().isPersistent()) {
+                return;
+            }
+            MVStore store = local.getDatabase().getStore().getMvStore();
+            FileStore<?> fileStore = store.getFileStore();
+            int fillRate = fileStore.getChunksFillRate();
+            if (fillRate >= targetFillRate) {
+                log.debug("Database file fill rate {}% is above {}%, no compaction needed", fillRate, targetFillRate);
+                return;
+            }
+
+            long sizeBefore = fileStore.size();
+            long start = System.currentTimeMillis();
+            store.compactFile(maxTimeMs);
+            log.info("Compacted database file from {} to {} bytes in {} ms (fill rate {}% -> {}%)",
+                    sizeBefore, fileStore.size(), System.currentTimeMillis() - start,
+                    fillRate, fileStore.getChunksFillRate());
+        } catch (Exception e) {
+            log.error("Database compaction failed: {}", e.getMessage());
+        }
+    }
+}
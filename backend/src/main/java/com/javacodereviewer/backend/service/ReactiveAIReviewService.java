@@ -0,0 +1,148 @@
+package com.javacodereviewer.backend.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.javacodereviewer.backend.analysis.CodeMetricsCalculator;
+import com.javacodereviewer.backend.model.CodeMetrics;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.model.TokenUsage;
+import io.netty.channel.ChannelOption;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of AIReviewService for the reactive endpoints.
+ *
+ * The provider is called with WebClient, so no thread waits for it. Prompt, parsing and the
+ * demo fallback are shared with AIReviewService; the local analyzer and the parsing are CPU
+ * work and run on the parallel scheduler rather than on the event loop.
+ */
+@Service
+public class ReactiveAIReviewService {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final AIReviewService aiReviewService;
+    private final WebClient webClient;
+
+    public ReactiveAIReviewService(AIReviewService aiReviewService, WebClient.Builder webClientBuilder) {
+        this.aiReviewService = aiReviewService;
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30000)
+                .responseTimeout(Duration.ofSeconds(60));
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Reviews Java code using the specified AI provider
+     */
+    public Mono<CodeReviewResponse> reviewCode(String code, String provider, String fileName) {
+        String apiKey = aiReviewService.getAPIKey(provider);
+        if (AIReviewService.LOCAL_PROVIDER.equals(provider) || apiKey == null || apiKey.isBlank()) {
+            return Mono.fromCallable(() -> aiReviewService.reviewCode(code, provider, fileName))
+                    .subscribeOn(Schedulers.parallel());
+        }
+        return Mono.fromCallable(() -> CodeMetricsCalculator.compute(code))
+                .subscribeOn(Schedulers.parallel())
+                .flatMap(metrics -> openAIRequest(code, apiKey, false)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .publishOn(Schedulers.parallel())
+                        .map(body -> aiReviewService.toResponse(aiReviewService.parseOpenAIReply(body),
+                                code, provider, fileName, metrics))
+                        .onErrorResume(e -> Mono.fromCallable(() ->
+                                aiReviewService.fallbackResponse(e, code, provider, fileName, metrics))));
+    }
+
+    /**
+     * Review as the provider writes it: text deltas as they arrive, then the parsed review.
+     * Providers that answer at once (local analyzer, demo mode) emit only the review.
+     */
+    public Flux<ReviewStreamEvent> streamReview(String code, String provider, String fileName) {
+        String apiKey = aiReviewService.getAPIKey(provider);
+        if (AIReviewService.LOCAL_PROVIDER.equals(provider) || apiKey == null || apiKey.isBlank()) {
+            return reviewCode(code, provider, fileName).map(ReviewStreamEvent::review).flux();
+        }
+        return Flux.defer(() -> {
+            // Per subscription: the full text and the usage sent with the last chunk
+            StringBuilder content = new StringBuilder();
+            TokenUsage[] usage = new TokenUsage[1];
+            CodeMetrics metrics = CodeMetricsCalculator.compute(code);
+
+            Flux<ReviewStreamEvent> deltas = openAIRequest(code, apiKey, true)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(SSE_TYPE)
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !"[DONE]".equals(data))
+                    .<ReviewStreamEvent>handle((data, sink) -> {
+                        JsonObject chunk = JsonParser.parseString(data).getAsJsonObject();
+                        TokenUsage chunkUsage = aiReviewService.parseUsage(chunk);
+                        if (chunkUsage != null) {
+                            usage[0] = chunkUsage;
+                        }
+                        String delta = deltaOf(chunk);
+                        if (delta != null && !delta.isEmpty()) {
+                            content.append(delta);
+                            sink.next(ReviewStreamEvent.delta(delta));
+                        }
+                    });
+            Mono<ReviewStreamEvent> review = Mono.fromCallable(() -> aiReviewService.toResponse(
+                            new AIReviewService.ProviderReply(content.toString(), usage[0]), code, provider, fileName, metrics))
+                    .subscribeOn(Schedulers.parallel())
+                    .map(ReviewStreamEvent::review);
+            return deltas.concatWith(review)
+                    .onErrorResume(e -> Mono.fromCallable(() ->
+                            ReviewStreamEvent.review(aiReviewService.fallbackResponse(e, code, provider, fileName, metrics))));
+        });
+    }
+
+    private WebClient.RequestHeadersSpec<?> openAIRequest(String code, String apiKey, boolean stream) {
+        return webClient.post()
+                .uri(aiReviewService.getOpenAIUrl())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(aiReviewService.buildOpenAIRequest(code, stream).toString());
+    }
+
+    private static String deltaOf(JsonObject chunk) {
+        if (!chunk.has("choices") || chunk.getAsJsonArray("choices").isEmpty()) {
+            return null;
+        }
+        JsonObject choice = chunk.getAsJsonArray("choices").get(0).getAsJsonObject();
+        if (!choice.has("delta") || !choice.get("delta").isJsonObject()) {
+            return null;
+        }
+        JsonElement text = choice.getAsJsonObject("delta").get("content");
+        return text != null && !text.isJsonNull() ? text.getAsString() : null;
+    }
+
+    /**
+     * One element of a streamed review: either a piece of provider text or the finished review
+     */
+    public record ReviewStreamEvent(String delta, CodeReviewResponse review) {
+
+        static ReviewStreamEvent delta(String delta) {
+            return new ReviewStreamEvent(delta, null);
+        }
+
+        static ReviewStreamEvent review(CodeReviewResponse review) {
+            return new ReviewStreamEvent(null, review);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The newest reviews, kept in memory so /api/reviews/recent never queries the database.
+ *
+ * A ring buffer: each save takes the next sequence number and claims slot sequence % size with
+ * a compare-and-set that never replaces a newer entry. Saves share a read lock, so they never
+ * wait for each other. Readers take no lock; they walk back from the latest sequence and skip
+ * slots whose entry does not carry the expected sequence (a write still in flight). The buffer
+ * is filled from the database at startup, and again under the write lock whenever a delete or
+ * archive empties a slot, so /recent keeps showing the newest size reviews. A save that commits
+ * just before such a refill can be listed twice by the refill and its own event, so readers drop
+ * repeated ids. An instance sharing the database
+ * does not see the others' saves, so with app.reviews.recent-buffer.enabled=false (the shared
+ * profile) every call reads the newest reviews from the database instead.
+ */
+@Service
+public class RecentReviewBuffer {
+
+    private final CodeReviewRepository codeReviewRepository;
+    private final int size;
+    private final boolean enabled;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReadWriteLock refillLock = new ReentrantReadWriteLock();
+
+    public RecentReviewBuffer(CodeReviewRepository codeReviewRepository,
+                              @Value("${app.reviews.recent-size:10}") int size,
+                              @Value("${app.reviews.recent-buffer.enabled:true}") boolean enabled) {
+        this.codeReviewRepository = codeReviewRepository;
+        this.size = Math.max(1, size);
+        this.enabled = enabled;
+        this.slots = new AtomicReferenceArray<>(this.size);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            refill();
+        }
+    }
+
+    @EventListener
+    public void onReviewSaved(ReviewSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        refillLock.readLock().lock();
+        try {
+            add(CodeReviewResponse.from(event.review()));
+        } finally {
+            refillLock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        if (enabled && remove(Set.of(event.id()))) {
+            refill();
+        }
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        if (enabled && remove(new HashSet<>(event.ids()))) {
+            refill();
+        }
+    }
+
+    @EventListener
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        // Imported history is not recent activity, but it is all a freshly seeded node has to show
+        if (enabled && getRecent().isEmpty()) {
+            refill();
+        }
+    }
+
+    /**
+     * The buffered reviews, newest first
+     */
+    public List<CodeReviewResponse> getRecent() {
+        if (!enabled) {
+            return loadNewest().stream().map(CodeReviewResponse::from).toList();
+        }
+        long latest = sequence.get() - 1;
+        List<CodeReviewResponse> recent = new ArrayList<>(size);
+        Set<Long> ids = new HashSet<>();
+        for (long seq = latest; seq >= 0 && seq > latest - size; seq--) {
+            Entry entry = slots.get(slot(seq));
+            if (entry != null && entry.sequence() == seq && entry.review() != null && ids.add(entry.review().getId())) {
+                recent.add(entry.review());
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Replace the buffer with the newest reviews in the database. Saves wait meanwhile, so one
+     * that commits after the query is added on top and not pushed out by the older ones.
+     */
+    private void refill() {
+        refillLock.writeLock().lock();
+        try {
+            List<CodeReview> reviews = loadNewest();
+            for (int slot = 0; slot < size; slot++) {
+                slots.set(slot, null);
+            }
+            // Oldest first, so the newest review ends up with the highest sequence
+            Collections.reverse(reviews);
+            reviews.forEach(review -> add(CodeReviewResponse.from(review)));
+        } finally {
+            refillLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The newest reviews in the database, newest first
+     */
+    private List<CodeReview> loadNewest() {
+        List<Long> ids = codeReviewRepository.findRecentIds(PageRequest.ofSize(size));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<CodeReview> reviews = new ArrayList<>(codeReviewRepository.findByIdIn(ids));
+        reviews.sort(Comparator.comparing(CodeReview::getReviewTime).thenComparing(CodeReview::getId).reversed());
+        return reviews;
+    }
+
+    private void add(CodeReviewResponse review) {
+        long seq = sequence.getAndIncrement();
+        Entry entry = new Entry(seq, review);
+        int slot = slot(seq);
+        while (true) {
+            Entry current = slots.get(slot);
+            // A slower writer must not overwrite a newer review that already took this slot
+            if (current != null && current.sequence() > seq) {
+                return;
+            }
+            if (slots.compareAndSet(slot, current, entry)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Empty the slots holding the given reviews; true when any slot was emptied
+     */
+    private boolean remove(Collection<Long> ids) {
+        boolean emptied = false;
+        for (int slot = 0; slot < size; slot++) {
+            Entry current = slots.get(slot);
+            if (current != null && current.review() != null && ids.contains(current.review().getId())) {
+                // Keep the sequence so the ordering check still holds; a failed CAS means a newer review replaced it
+                emptied |= slots.compareAndSet(slot, current, new Entry(current.sequence(), null));
+            }
+        }
+        return emptied;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % size);
+    }
+
+    private record Entry(long sequence, CodeReviewResponse review) {}
+}
@@ -0,0 +1,40 @@
+package com.javacodereviewer.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETag and Cache-Control of a single review and its source, shared by the MVC and reactive endpoints.
+ *
+ * The ETag names the database, the review id and the app.version, so a review from another
+ * database or an older response format never validates. Weak, because Tomcat does not compress
+ * a response that carries a strong ETag. A stored review never changes, so responses from a durable
+ * database are cached for a year without revalidation; in-memory ids are handed out again after a
+ * restart, so there clients revalidate every time.
+ */
+@Component
+public class ReviewCachePolicy {
+
+    private static final CacheControl DURABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final DatabaseIdentity databaseIdentity;
+
+    @Value("${app.version:1.0.0}")
+    private String appVersion;
+
+    public ReviewCachePolicy(DatabaseIdentity databaseIdentity) {
+        this.databaseIdentity = databaseIdentity;
+    }
+
+    public String eTag(long id) {
+        return "W/\"" + databaseIdentity.getId() + "-" + id + "-" + appVersion + "\"";
+    }
+
+    public CacheControl getCacheControl() {
+        return databaseIdentity.isDurable() ? DURABLE : REVALIDATE;
+    }
+}
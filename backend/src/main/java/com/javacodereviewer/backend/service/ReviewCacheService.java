@@ -0,0 +1,84 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewSourcesDetachedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import com.javacodereviewer.backend.model.CacheRegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the Hibernate second-level cache in step with writes that bypass Hibernate, and reports
+ * its hit ratios.
+ *
+ * Saves and deletes through the repository update the entity, collection and query caches
+ * themselves. The retention job and the bulk import write through JDBC, so their events evict
+ * the affected reviews and every cached query result here. A read that misses the cache while
+ * such a batch is committing can put the old state back before the event arrives; the
+ * eviction that follows removes it again.
+ */
+@Service
+public class ReviewCacheService {
+
+    private static final String FINDINGS_ROLE = CodeReview.class.getName() + ".findings";
+
+    private final SessionFactory sessionFactory;
+
+    public ReviewCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        Cache cache = sessionFactory.getCache();
+        for (Long id : event.ids()) {
+            cache.evictEntityData(CodeReview.class, id);
+            cache.evictCollectionData(FINDINGS_ROLE, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    @EventListener
+    public void onReviewSourcesDetached(ReviewSourcesDetachedEvent event) {
+        Cache cache = sessionFactory.getCache();
+        for (Long id : event.ids()) {
+            cache.evictEntityData(CodeReview.class, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    @EventListener
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        // New ids only, so no cached entity can be stale; cached query results can be
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    /**
+     * Counters of every second-level cache region since startup
+     */
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        List<CacheRegionStatistics> result = new ArrayList<>();
+        for (String region : regions) {
+            org.hibernate.stat.CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long elements = stats.getElementCountInMemory();
+            result.add(new CacheRegionStatistics(region, stats.getHitCount(), stats.getMissCount(),
+                    stats.getPutCount(), elements >= 0 ? elements : null));
+        }
+        return result;
+    }
+}
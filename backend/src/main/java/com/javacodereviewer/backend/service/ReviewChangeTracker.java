@@ -0,0 +1,73 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validators for the review list endpoints, kept in memory so a conditional GET is answered
+ * without a query.
+ *
+ * Every review event bumps the version. The events are published after the change is
+ * committed, so a list read under version n already reflects every change up to n. The ETag
+ * also carries the startup time, because changes made before a restart are not known. The
+ * Last-Modified time has one-second resolution; clients that send If-None-Match get the exact
+ * ETag comparison instead. Changes made by other instances are not seen, so the shared profile
+ * turns the validators off with app.reviews.list-etag.enabled.
+ */
+@Service
+public class ReviewChangeTracker {
+
+    @Value("${app.reviews.list-etag.enabled:true}")
+    private boolean enabled;
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = startedAt;
+
+    @EventListener
+    public void onReviewSaved(ReviewSavedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        changed();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Weak, since the same list may be sent with different content codings
+     */
+    public String getETag() {
+        return "W/\"" + Long.toString(startedAt, 36) + "-" + version.get() + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+}
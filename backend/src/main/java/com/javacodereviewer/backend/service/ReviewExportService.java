@@ -0,0 +1,150 @@
+package com.javacodereviewer.backend.service;
+
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams stored reviews as NDJSON, one review per line, in id order.
+ *
+ * Reviews are read in keyset batches of app.export.batch-size along the primary key (joined to
+ * their source blob when sources are requested), together with the findings of the same id
+ * range, and each batch is written out before the next is read. No entities are created and
+ * only one batch is held at a time, so memory use does not depend on the number of reviews.
+ * Each batch is its own short query: an open H2 cursor that lives for the whole export can
+ * fail with "Chunk not found" once concurrent writes have moved the store on. Reviews still
+ * waiting in the write-behind queue are not included. Each line names the review's origin: the
+ * database it was first stored in and its id there, kept across further imports and exports.
+ */
+@Service
+public class ReviewExportService {
+
+    private static final String REVIEW_COLUMNS = "r.id, r.review_time, r.ai_provider, r.file_name, r.summary, "
+            + "r.total_issues, r.client_id, r.ai_model, r.prompt_tokens, r.completion_tokens, r.total_tokens, "
+            + "r.total_lines, r.lines_of_code, r.comment_lines, r.blank_lines, r.comment_density, r.method_count, "
+            + "r.field_count, r.max_cyclomatic_complexity, r.avg_cyclomatic_complexity, r.max_nesting_depth, "
+            + "r.source_hash, r.origin_instance, r.origin_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseIdentity databaseIdentity;
+
+    @Value("${app.export.batch-size:1000}")
+    private int batchSize;
+
+    public ReviewExportService(JdbcTemplate jdbcTemplate, DatabaseIdentity databaseIdentity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseIdentity = databaseIdentity;
+    }
+
+    /**
+     * Write every review saved at or after since (all reviews when null) to out
+     *
+     * @return the number of reviews written
+     */
+    public long export(LocalDateTime since, boolean includeSource, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        String reviewSql = "SELECT " + REVIEW_COLUMNS + (includeSource ? ", b.content" : "")
+                + " FROM code_reviews r"
+                + (includeSource ? " LEFT JOIN source_blobs b ON b.hash = r.source_hash" : "")
+                + " WHERE r.id > ?" + (since != null ? " AND r.review_time >= ?" : "")
+                + " ORDER BY r.id LIMIT " + batchSize;
+
+        long afterId = Long.MIN_VALUE;
+        if (since != null) {
+            Long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM code_reviews WHERE review_time >= ?",
+                    Long.class, since);
+            if (firstId == null) {
+                return 0;
+            }
+            afterId = firstId - 1;
+        }
+
+        long count = 0;
+        while (true) {
+            List<Map<String, Object>> reviews = since != null
+                    ? jdbcTemplate.queryForList(reviewSql, afterId, since)
+                    : jdbcTemplate.queryForList(reviewSql, afterId);
+            if (reviews.isEmpty()) {
+                break;
+            }
+            long lastId = ((Number) reviews.get(reviews.size() - 1).get("id")).longValue();
+            Map<Long, List<String[]>> findings = new HashMap<>();
+            jdbcTemplate.query("SELECT review_id, category, message FROM review_findings "
+                            + "WHERE review_id > ? AND review_id <= ? ORDER BY review_id, ordinal",
+                    rs -> {
+                        findings.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                                .add(new String[] {rs.getString(2), rs.getString(3)});
+                    }, afterId, lastId);
+
+            for (Map<String, Object> review : reviews) {
+                JsonWriter json = new JsonWriter(writer);
+                json.beginObject();
+                writeReview(json, review, includeSource, databaseIdentity.getId());
+                json.name("findings").beginArray();
+                for (String[] finding : findings.getOrDefault(((Number) review.get("id")).longValue(), List.of())) {
+                    json.beginObject().name("category").value(finding[0]).name("message").value(finding[1]).endObject();
+                }
+                json.endArray();
+                json.endObject();
+                json.flush();
+                writer.write('\n');
+            }
+            count += reviews.size();
+            afterId = lastId;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeReview(JsonWriter json, Map<String, Object> row, boolean includeSource,
+                                    String instance) throws IOException {
+        json.name("id").value((Number) row.get("id"));
+        // Reviews stored here originate here; imported ones keep the origin they came with
+        boolean imported = row.get("origin_instance") != null;
+        json.name("originInstance").value(imported ? (String) row.get("origin_instance") : instance);
+        json.name("originId").value((Number) (imported ? row.get("origin_id") : row.get("id")));
+        Timestamp reviewTime = (Timestamp) row.get("review_time");
+        json.name("reviewTime").value(reviewTime != null ? reviewTime.toLocalDateTime().toString() : null);
+        json.name("aiProvider").value((String) row.get("ai_provider"));
+        json.name("fileName").value((String) row.get("file_name"));
+        json.name("summary").value((String) row.get("summary"));
+        json.name("totalIssues").value((Number) row.get("total_issues"));
+        json.name("clientId").value((String) row.get("client_id"));
+        json.name("aiModel").value((String) row.get("ai_model"));
+        json.name("promptTokens").value((Number) row.get("prompt_tokens"));
+        json.name("completionTokens").value((Number) row.get("completion_tokens"));
+        json.name("totalTokens").value((Number) row.get("total_tokens"));
+        if (row.get("total_lines") != null) {
+            json.name("metrics").beginObject()
+                    .name("totalLines").value((Number) row.get("total_lines"))
+                    .name("linesOfCode").value((Number) row.get("lines_of_code"))
+                    .name("commentLines").value((Number) row.get("comment_lines"))
+                    .name("blankLines").value((Number) row.get("blank_lines"))
+                    .name("commentDensity").value((Number) row.get("comment_density"))
+                    .name("methodCount").value((Number) row.get("method_count"))
+                    .name("fieldCount").value((Number) row.get("field_count"))
+                    .name("maxCyclomaticComplexity").value((Number) row.get("max_cyclomatic_complexity"))
+                    .name("averageCyclomaticComplexity").value((Number) row.get("avg_cyclomatic_complexity"))
+                    .name("maxNestingDepth").value((Number) row.get("max_nesting_depth"))
+                    .endObject();
+        }
+        json.name("sourceHash").value((String) row.get("source_hash"));
+        if (includeSource) {
+            byte[] content = (byte[]) row.get("content");
+            json.name("code").value(content != null ? SourceBlobStore.decompress(content) : null);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.javacodereviewer.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands out review ids from the code_reviews_seq sequence in blocks (hi/lo).
+ *
+ * Each sequence value reserves as many ids as the sequence increments by, so the database is
+ * hit once per block. The block size is read from the sequence itself, which keeps two
+ * instances from handing out overlapping ids. Ids are known before the row is written,
+ * which lets inserts be batched and lets a review be answered before it is stored.
+ */
+@Service
+public class ReviewIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long blockSize;
+    private long next;
+    private long limit;
+
+    public ReviewIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = 'CODE_REVIEWS_SEQ'",
+                Long.class);
+        if (increment == null || increment < 1) {
+            throw new IllegalStateException("code_reviews_seq must increment by a positive amount, found " + increment);
+        }
+        blockSize = increment;
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            Long start = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR code_reviews_seq", Long.class);
+            next = start;
+            limit = start + blockSize;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,245 @@
+package com.javacodereviewer.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javacodereviewer.backend.model.CodeReviewRequest;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for POST /api/reviews/review, so a client retry does not call the
+ * provider again or store a second review.
+ *
+ * Keys are scoped by client id, so a key is only accepted with an explicit X-Client-Id, and are
+ * kept in idempotency_keys. The first request with a key claims it with an in-progress row,
+ * runs the review and stores the response; a retry within
+ * app.idempotency.window-hours replays that response. Duplicates that arrive on this node while
+ * the first request runs wait for its result instead of running the review themselves; on
+ * another node they find the in-progress row and get 409. Server errors are not stored, so a
+ * retry after one runs the review again. A key sent again with a different request gets 422.
+ */
+@Service
+public class ReviewIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewIdempotencyService.class);
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // The X-Client-Id default of callers that do not identify themselves
+    private static final String ANONYMOUS_CLIENT = "anonymous";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.window-hours:24}")
+    private long windowHours;
+
+    @Value("${app.idempotency.in-progress-timeout-ms:120000}")
+    private long inProgressTimeoutMs;
+
+    // Requests running on this node, by client id and key, for duplicates to wait on
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public ReviewIdempotencyService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run review at most once per client and key within the window and answer every request
+     * with the key from its result
+     */
+    public ResponseEntity<CodeReviewResponse> execute(String clientId, String key, CodeReviewRequest request,
+                                                      Supplier<ResponseEntity<CodeReviewResponse>> review) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        // Keys are scoped by client; every caller without an X-Client-Id would share one key space
+        if (clientId == null || clientId.isBlank() || ANONYMOUS_CLIENT.equals(clientId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key requires an X-Client-Id header");
+        }
+        String requestHash = requestHash(request);
+        String scopedKey = clientId + '\n' + key;
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            return replayed(await(running.result()));
+        }
+        try {
+            ResponseEntity<CodeReviewResponse> response = executeOnce(clientId, key, requestHash, review);
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private ResponseEntity<CodeReviewResponse> executeOnce(String clientId, String key, String requestHash,
+                                                           Supplier<ResponseEntity<CodeReviewResponse>> review) {
+        List<StoredKey> stored = jdbcTemplate.query("SELECT request_hash, status_code, content, created_at, "
+                        + "created_at < DATEADD(HOUR, ?, LOCALTIMESTAMP), "
+                        + "created_at < DATEADD(MILLISECOND, ?, LOCALTIMESTAMP) "
+                        + "FROM idempotency_keys WHERE client_id = ? AND idempotency_key = ?",
+                (rs, rowNum) -> new StoredKey(rs.getString(1), rs.getObject(2, Integer.class), rs.getBytes(3),
+                        rs.getTimestamp(4), rs.getBoolean(5), rs.getBoolean(6)),
+                -windowHours, -inProgressTimeoutMs, clientId, key);
+        if (stored.isEmpty()) {
+            claim(clientId, key, requestHash);
+        } else {
+            StoredKey row = stored.get(0);
+            if (!row.expired()) {
+                checkSameRequest(row.requestHash(), requestHash);
+                if (row.statusCode() != null) {
+                    return replayed(ResponseEntity.status(row.statusCode()).body(read(row.content())));
+                }
+                if (!row.abandoned()) {
+                    throw inProgress();
+                }
+            }
+            // Expired, or left in progress by a node that went away: start over
+            takeOver(clientId, key, requestHash, row.createdAt());
+        }
+
+        ResponseEntity<CodeReviewResponse> response;
+        try {
+            response = review.get();
+        } catch (RuntimeException e) {
+            release(clientId, key);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            // Not kept: the retry runs the review again
+            release(clientId, key);
+        } else {
+            jdbcTemplate.update("UPDATE idempotency_keys SET status_code = ?, content = ? "
+                            + "WHERE client_id = ? AND idempotency_key = ?",
+                    response.getStatusCode().value(), write(response.getBody()), clientId, key);
+        }
+        return response;
+    }
+
+    /**
+     * Delete keys older than the window
+     */
+    @Scheduled(initialDelayString = "${app.idempotency.eviction-interval-ms:600000}",
+               fixedDelayString = "${app.idempotency.eviction-interval-ms:600000}")
+    public void evictExpired() {
+        int evicted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < DATEADD(HOUR, ?, LOCALTIMESTAMP)",
+                -windowHours);
+        if (evicted > 0) {
+            log.info("Evicted {} expired idempotency keys", evicted);
+        }
+    }
+
+    private void claim(String clientId, String key, String requestHash) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (client_id, idempotency_key, request_hash, created_at) "
+                    + "VALUES (?, ?, ?, LOCALTIMESTAMP)", clientId, key, requestHash);
+        } catch (DuplicateKeyException e) {
+            // Claimed by another node between the lookup and the insert
+            throw inProgress();
+        }
+    }
+
+    private void takeOver(String clientId, String key, String requestHash, Timestamp previousCreatedAt) {
+        int updated = jdbcTemplate.update("UPDATE idempotency_keys SET request_hash = ?, status_code = NULL, "
+                        + "content = NULL, created_at = LOCALTIMESTAMP "
+                        + "WHERE client_id = ? AND idempotency_key = ? AND created_at = ?",
+                requestHash, clientId, key, previousCreatedAt);
+        if (updated == 0) {
+            throw inProgress();
+        }
+    }
+
+    private void release(String clientId, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE client_id = ? AND idempotency_key = ? "
+                + "AND status_code IS NULL", clientId, key);
+    }
+
+    private ResponseEntity<CodeReviewResponse> await(CompletableFuture<ResponseEntity<CodeReviewResponse>> result) {
+        try {
+            return result.get(inProgressTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResponseStatusException statusException) {
+                throw statusException;
+            }
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during code review");
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private static ResponseEntity<CodeReviewResponse> replayed(ResponseEntity<CodeReviewResponse> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress");
+    }
+
+    private static String requestHash(CodeReviewRequest request) {
+        String canonical = request.getAiProvider() + '\0' + request.getFileName() + '\0' + request.getCode();
+        return SourceBlobStore.hash(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] write(CodeReviewResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CodeReviewResponse read(byte[] content) {
+        try {
+            return objectMapper.readValue(content, CodeReviewResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<ResponseEntity<CodeReviewResponse>> result) {}
+
+    private record StoredKey(String requestHash, Integer statusCode, byte[] content, Timestamp createdAt,
+                             boolean expired, boolean abandoned) {}
+}
@@ -0,0 +1,406 @@
+package com.javacodereviewer.backend.service;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.javacodereviewer.backend.analysis.Severity;
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.entity.ReviewFinding;
+import com.javacodereviewer.backend.entity.ReviewMetrics;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import com.javacodereviewer.backend.model.CodeMetrics;
+import com.javacodereviewer.backend.model.ReviewImportResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk import of reviews from NDJSON, in the format GET /api/reviews/export writes.
+ *
+ * The stream is parsed one record at a time on the calling thread while a writer thread stores
+ * the previous batch, one transaction and one JDBC batch per app.import.batch-size reviews.
+ * Reviews get new ids, so imports from other instances cannot collide with local reviews.
+ * Each stored review keeps its origin (originInstance and originId of the export) under a
+ * unique key, and records whose origin is already stored here, including reviews that
+ * originate in this database, are skipped, so importing the same export twice is harmless.
+ * Sources (the code field) are stored through SourceBlobStore. The search index, statistics
+ * and recent reviews are not maintained per review; a single ReviewsImportedEvent after the
+ * last batch lets each of them catch up in one pass. Records that cannot be converted (a
+ * missing or unknown finding category, a malformed time) are skipped; malformed JSON ends the
+ * import, and the batches written before it stay stored.
+ */
+@Service
+public class ReviewImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewImportService.class);
+
+    private static final String INSERT_REVIEW = "INSERT INTO code_reviews (id, source_hash, summary, ai_provider, "
+            + "file_name, review_time, review_month, total_issues, client_id, ai_model, prompt_tokens, "
+            + "completion_tokens, total_tokens, total_lines, lines_of_code, comment_lines, blank_lines, "
+            + "comment_density, method_count, field_count, max_cyclomatic_complexity, avg_cyclomatic_complexity, "
+            + "max_nesting_depth, origin_instance, origin_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_FINDING =
+            "INSERT INTO review_findings (review_id, ordinal, category, message) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReviewIdAllocator reviewIdAllocator;
+    private final SourceBlobStore sourceBlobStore;
+    private final DatabaseIdentity databaseIdentity;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Gson gson = new Gson();
+
+    private final ExecutorService writers = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "review-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.import.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${app.import.progress-interval:100000}")
+    private long progressInterval;
+
+    public ReviewImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               ReviewIdAllocator reviewIdAllocator, SourceBlobStore sourceBlobStore,
+                               DatabaseIdentity databaseIdentity, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reviewIdAllocator = reviewIdAllocator;
+        this.sourceBlobStore = sourceBlobStore;
+        this.databaseIdentity = databaseIdentity;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Store every review in the NDJSON stream
+     *
+     * @throws com.google.gson.JsonParseException if the stream is not valid NDJSON
+     */
+    public ReviewImportResult importReviews(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        long end;
+        AtomicLong imported = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        long skipped = 0;
+        long firstId = Long.MAX_VALUE;
+        long lastId = Long.MIN_VALUE;
+        Future<?> pending = null;
+        try {
+            JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            // NDJSON is a sequence of top-level values, which only a lenient reader accepts
+            reader.setLenient(true);
+            List<Imported> batch = new ArrayList<>(batchSize);
+            while (reader.peek() != JsonToken.END_DOCUMENT) {
+                ImportedReview record = gson.fromJson(reader, ImportedReview.class);
+                CodeReview review = toReview(record);
+                if (review == null) {
+                    skipped++;
+                    continue;
+                }
+                firstId = Math.min(firstId, review.getId());
+                lastId = Math.max(lastId, review.getId());
+                batch.add(new Imported(review, record.originInstance,
+                        record.originId != null ? record.originId : record.id));
+                if (batch.size() == batchSize) {
+                    pending = submit(pending, batch, imported, duplicates, start);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending = submit(pending, batch, imported, duplicates, start);
+            }
+            await(pending);
+            end = System.nanoTime();
+        } catch (RuntimeException | IOException e) {
+            // Let the batch in flight finish so the import stops at a batch boundary
+            try {
+                await(pending);
+            } catch (RuntimeException ignored) {
+                // The original failure is the one to report
+            }
+            throw e;
+        } finally {
+            if (imported.get() > 0) {
+                ReviewsImportedEvent event = new ReviewsImportedEvent(firstId, lastId, imported.get());
+                // Listeners read the imported reviews back through JPA; on a writer thread that does not
+                // pile up in the request's open persistence context
+                await(writers.submit(() -> eventPublisher.publishEvent(event)));
+            }
+        }
+
+        // Throughput covers storing the reviews, not the follow-up indexing
+        ReviewImportResult result = new ReviewImportResult(imported.get(), skipped + duplicates.get(),
+                TimeUnit.NANOSECONDS.toMillis(end - start));
+        log.info("Imported {} reviews in {} ms ({} reviews/s), skipped {} ({} already imported)", result.getImported(),
+                result.getElapsedMillis(), result.getReviewsPerSecond(), result.getSkipped(), duplicates.get());
+        return result;
+    }
+
+    /**
+     * Hand a batch to a writer once the previous one is stored, so parsing overlaps one write
+     */
+    private Future<?> submit(Future<?> previous, List<Imported> batch, AtomicLong imported, AtomicLong duplicates,
+                             long start) {
+        await(previous);
+        return writers.submit(() -> {
+            int stored = writeWithRetry(batch);
+            duplicates.addAndGet(batch.size() - stored);
+            long total = imported.addAndGet(stored);
+            if (total / progressInterval != (total - stored) / progressInterval) {
+                long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                log.info("Import progress: {} reviews stored ({} reviews/s)", total, total * 1000 / elapsedMs);
+            }
+        });
+    }
+
+    private static void await(Future<?> pending) {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing reviews", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private int writeWithRetry(List<Imported> batch) {
+        try {
+            return write(batch);
+        } catch (DuplicateKeyException e) {
+            // A concurrent import stored some of the same origins in the meantime; they are filtered out now
+            return write(batch);
+        }
+    }
+
+    /**
+     * Store the reviews of a batch whose origin is not stored yet; returns how many were stored
+     */
+    private int write(List<Imported> batch) {
+        Integer stored = transactionTemplate.execute(status -> {
+            List<Imported> rows = withoutStoredOrigins(batch);
+            List<CodeReview> reviews = rows.stream().map(Imported::review).toList();
+            List<Object[]> findings = new ArrayList<>();
+            for (CodeReview review : reviews) {
+                List<ReviewFinding> reviewFindings = review.getFindings();
+                for (int i = 0; i < reviewFindings.size(); i++) {
+                    ReviewFinding finding = reviewFindings.get(i);
+                    findings.add(new Object[]{review.getId(), i, finding.getCategory().name(), finding.getMessage()});
+                }
+            }
+            sourceBlobStore.store(reviews);
+            jdbcTemplate.batchUpdate(INSERT_REVIEW, rows, rows.size(), ReviewImportService::setReview);
+            jdbcTemplate.batchUpdate(INSERT_FINDING, findings, findings.size(), (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setInt(2, (Integer) row[1]);
+                ps.setString(3, (String) row[2]);
+                ps.setString(4, (String) row[3]);
+            });
+            return rows.size();
+        });
+        return stored != null ? stored : 0;
+    }
+
+    /**
+     * The part of a batch that is neither stored already nor repeated within the batch. A review
+     * that originates in this database counts as stored while its id still exists here.
+     */
+    private List<Imported> withoutStoredOrigins(List<Imported> batch) {
+        String local = databaseIdentity.getId();
+        List<Long> localIds = new ArrayList<>();
+        List<Long> originIds = new ArrayList<>();
+        for (Imported row : batch) {
+            if (!row.hasOrigin()) {
+                continue;
+            }
+            if (local.equals(row.originInstance())) {
+                localIds.add(row.originId());
+            } else {
+                originIds.add(row.originId());
+            }
+        }
+        Set<Long> existingLocal = new HashSet<>();
+        if (!localIds.isEmpty()) {
+            existingLocal.addAll(jdbcTemplate.queryForList("SELECT id FROM code_reviews WHERE id IN ("
+                    + placeholders(localIds.size()) + ")", Long.class, localIds.toArray()));
+        }
+        Set<String> seen = new HashSet<>();
+        if (!originIds.isEmpty()) {
+            jdbcTemplate.query("SELECT origin_instance, origin_id FROM code_reviews WHERE origin_id IN ("
+                            + placeholders(originIds.size()) + ")",
+                    rs -> {
+                        seen.add(rs.getString(1) + "/" + rs.getLong(2));
+                    }, originIds.toArray());
+        }
+        List<Imported> rows = new ArrayList<>(batch.size());
+        for (Imported row : batch) {
+            if (!row.hasOrigin()) {
+                rows.add(row);
+            } else if (!(local.equals(row.originInstance()) && existingLocal.contains(row.originId()))
+                    && seen.add(row.originInstance() + "/" + row.originId())) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void setReview(PreparedStatement ps, Imported row) throws SQLException {
+        CodeReview review = row.review();
+        ps.setLong(1, review.getId());
+        ps.setString(2, review.getSourceHash());
+        ps.setString(3, review.getSummary());
+        ps.setString(4, review.getAiProvider());
+        ps.setString(5, review.getFileName());
+        ps.setTimestamp(6, Timestamp.valueOf(review.getReviewTime()));
+        ps.setInt(7, CodeReview.reviewMonthOf(review.getReviewTime()));
+        setObject(ps, 8, review.getTotalIssues(), Types.INTEGER);
+        ps.setString(9, review.getClientId());
+        ps.setString(10, review.getAiModel());
+        setObject(ps, 11, review.getPromptTokens(), Types.BIGINT);
+        setObject(ps, 12, review.getCompletionTokens(), Types.BIGINT);
+        setObject(ps, 13, review.getTotalTokens(), Types.BIGINT);
+        ReviewMetrics metrics = review.getMetrics();
+        setObject(ps, 14, metrics != null ? metrics.getTotalLines() : null, Types.INTEGER);
+        setObject(ps, 15, metrics != null ? metrics.getLinesOfCode() : null, Types.INTEGER);
+        setObject(ps, 16, metrics != null ? metrics.getCommentLines() : null, Types.INTEGER);
+        setObject(ps, 17, metrics != null ? metrics.getBlankLines() : null, Types.INTEGER);
+        setObject(ps, 18, metrics != null ? metrics.getCommentDensity() : null, Types.DOUBLE);
+        setObject(ps, 19, metrics != null ? metrics.getMethodCount() : null, Types.INTEGER);
+        setObject(ps, 20, metrics != null ? metrics.getFieldCount() : null, Types.INTEGER);
+        setObject(ps, 21, metrics != null ? metrics.getMaxCyclomaticComplexity() : null, Types.INTEGER);
+        setObject(ps, 22, metrics != null ? metrics.getAverageCyclomaticComplexity() : null, Types.DOUBLE);
+        setObject(ps, 23, metrics != null ? metrics.getMaxNestingDepth() : null, Types.INTEGER);
+        ps.setString(24, row.hasOrigin() ? row.originInstance() : null);
+        setObject(ps, 25, row.hasOrigin() ? row.originId() : null, Types.BIGINT);
+    }
+
+    private static void setObject(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    /**
+     * A stored review with a fresh id, or null when the record cannot be converted
+     */
+    private CodeReview toReview(ImportedReview record) {
+        if (record == null) {
+            return null;
+        }
+        CodeReview review = new CodeReview();
+        try {
+            if (record.reviewTime != null) {
+                review.setReviewTime(LocalDateTime.parse(record.reviewTime));
+            }
+            List<ReviewFinding> findings = new ArrayList<>();
+            if (record.findings != null) {
+                for (ImportedFinding finding : record.findings) {
+                    if (finding == null || finding.category == null) {
+                        return null;
+                    }
+                    findings.add(new ReviewFinding(Severity.valueOf(finding.category), finding.message));
+                }
+            }
+            review.setFindings(findings);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+        review.setId(reviewIdAllocator.nextId());
+        review.setCodeContent(record.code);
+        review.setSummary(record.summary);
+        review.setAiProvider(record.aiProvider);
+        review.setFileName(record.fileName);
+        review.setTotalIssues(record.totalIssues);
+        review.setClientId(record.clientId);
+        review.setAiModel(record.aiModel);
+        review.setPromptTokens(record.promptTokens);
+        review.setCompletionTokens(record.completionTokens);
+        review.setTotalTokens(record.totalTokens);
+        if (record.metrics != null) {
+            review.setMetrics(ReviewMetrics.from(record.metrics));
+        }
+        return review;
+    }
+
+    // One NDJSON line; new ids and source hashes are assigned, the export's id only names the origin
+    private static class ImportedReview {
+        Long id;
+        String originInstance;
+        Long originId;
+        String reviewTime;
+        String aiProvider;
+        String fileName;
+        String summary;
+        Integer totalIssues;
+        String clientId;
+        String aiModel;
+        Long promptTokens;
+        Long completionTokens;
+        Long totalTokens;
+        CodeMetrics metrics;
+        List<ImportedFinding> findings;
+        String code;
+    }
+
+    private static class ImportedFinding {
+        String category;
+        String message;
+    }
+
+    // A converted review and its origin; exports from before origins were recorded have none
+    private record Imported(CodeReview review, String originInstance, Long originId) {
+        boolean hasOrigin() {
+            return originInstance != null && originId != null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.entity.ReviewMetrics;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.model.CodeReviewRequest;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.model.TokenUsage;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Stores a finished review and charges its token usage to the client. Shared by the MVC and
+ * the reactive review endpoints; blocking, so reactive callers run it off the event loop.
+ */
+@Service
+public class ReviewRecorder {
+
+    private final CodeReviewRepository codeReviewRepository;
+    private final ReviewIdAllocator reviewIdAllocator;
+    private final ReviewWriteBehindQueue reviewWriteBehindQueue;
+    private final SourceBlobStore sourceBlobStore;
+    private final TokenUsageLedger tokenUsageLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+
+    public ReviewRecorder(CodeReviewRepository codeReviewRepository, ReviewIdAllocator reviewIdAllocator,
+                          ReviewWriteBehindQueue reviewWriteBehindQueue, SourceBlobStore sourceBlobStore,
+                          TokenUsageLedger tokenUsageLedger, ApplicationEventPublisher eventPublisher, Tracer tracer) {
+        this.codeReviewRepository = codeReviewRepository;
+        this.reviewIdAllocator = reviewIdAllocator;
+        this.reviewWriteBehindQueue = reviewWriteBehindQueue;
+        this.sourceBlobStore = sourceBlobStore;
+        this.tokenUsageLedger = tokenUsageLedger;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Save the review of request and set its new id on response
+     */
+    public CodeReview record(CodeReviewRequest request, CodeReviewResponse response, String clientId) {
+        return record(request, response, clientId, null);
+    }
+
+    /**
+     * Save the review of an uploaded source whose blob was already built while it was read
+     */
+    public CodeReview record(CodeReviewRequest request, CodeReviewResponse response, String clientId,
+                             SourceBlobStore.StreamedSource source) {
+        CodeReview review = new CodeReview();
+        review.setCodeContent(request.getCode());
+        review.setSummary(response.getSummary());
+        review.setErrors(response.getErrors());
+        review.setWarnings(response.getWarnings());
+        review.setSuggestions(response.getSuggestions());
+        review.setGoodPractices(response.getGoodPractices());
+        review.setAiProvider(request.getAiProvider());
+        review.setFileName(request.getFileName());
+        review.setTotalIssues(response.getTotalIssues());
+        review.setClientId(clientId);
+
+        TokenUsage usage = response.getTokenUsage();
+        if (usage != null) {
+            review.setAiModel(usage.getModel());
+            review.setPromptTokens(usage.getPromptTokens());
+            review.setCompletionTokens(usage.getCompletionTokens());
+            review.setTotalTokens(usage.getTotalTokens());
+        }
+        if (response.getMetrics() != null) {
+            review.setMetrics(ReviewMetrics.from(response.getMetrics()));
+        }
+
+        if (source != null) {
+            // Stored before the review so a queued write never refers to a missing blob
+            sourceBlobStore.store(source);
+            review.setSourceHash(source.hash());
+        }
+
+        review.setId(reviewIdAllocator.nextId());
+        save(review);
+        response.setId(review.getId());
+        tokenUsageLedger.record(request.getAiProvider(), clientId, usage);
+        return review;
+    }
+
+    /**
+     * Persist a review inside its own span so database time shows up separately;
+     * with write-behind enabled this only queues the review
+     */
+    private void save(CodeReview review) {
+        if (reviewWriteBehindQueue.isEnabled()) {
+            reviewWriteBehindQueue.submit(review);
+            return;
+        }
+        Span span = tracer.spanBuilder("CodeReviewRepository.save").startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            sourceBlobStore.store(List.of(review));
+            codeReviewRepository.save(review);
+        } finally {
+            span.end();
+        }
+        eventPublisher.publishEvent(new ReviewSavedEvent(review));
+    }
+}
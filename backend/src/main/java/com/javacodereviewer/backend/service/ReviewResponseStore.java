@@ -0,0 +1,152 @@
+package com.javacodereviewer.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.model.CodeReviewResponse;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The JSON body of GET /api/reviews/{id}, serialized once and kept gzip-compressed in review_responses.
+ *
+ * A stored review never changes, so its response is written when the review is saved and
+ * served as stored bytes afterwards: no entity load, no mapping, no Jackson, and no compression
+ * for clients that accept gzip. Reviews stored without a response (imported, or saved before
+ * this table existed) get one on their first read. Each row records the app.version it was
+ * written by, so an upgrade that changes the response format re-serializes on the next read.
+ */
+@Service
+public class ReviewResponseStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewResponseStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CodeReviewRepository codeReviewRepository;
+    private final ReviewWriteBehindQueue reviewWriteBehindQueue;
+
+    @Value("${app.version:1.0.0}")
+    private String appVersion;
+
+    public ReviewResponseStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                               CodeReviewRepository codeReviewRepository, ReviewWriteBehindQueue reviewWriteBehindQueue) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.codeReviewRepository = codeReviewRepository;
+        this.reviewWriteBehindQueue = reviewWriteBehindQueue;
+    }
+
+    @EventListener
+    public void onReviewSaved(ReviewSavedEvent event) {
+        try {
+            put(event.review());
+        } catch (DataAccessException e) {
+            // The review itself is stored; its response is written on the first read instead
+            log.error("Failed to store the response of review {}: {}", event.review().getId(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        jdbcTemplate.update("DELETE FROM review_responses WHERE review_id = ?", event.id());
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        List<Long> ids = event.ids();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM review_responses WHERE review_id IN ("
+                    + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+        }
+    }
+
+    /**
+     * Whether a review exists, queued or stored, without reading or writing its response
+     */
+    public boolean exists(Long id) {
+        return reviewWriteBehindQueue.getPending(id) != null || codeReviewRepository.existsById(id);
+    }
+
+    /**
+     * The gzip-compressed response of a review: serialized on the fly while it waits for the
+     * write-behind queue, otherwise the stored one, written first if it is missing
+     */
+    public Optional<byte[]> find(Long id) {
+        CodeReview pending = reviewWriteBehindQueue.getPending(id);
+        if (pending != null) {
+            return Optional.of(serialize(pending));
+        }
+        Optional<byte[]> stored = get(id);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        return codeReviewRepository.findById(id).map(this::put);
+    }
+
+    /**
+     * The gzip-compressed response of a stored review, if one was written by this version
+     */
+    public Optional<byte[]> get(Long id) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT content FROM review_responses WHERE review_id = ? AND app_version = ?",
+                (rs, rowNum) -> rs.getBytes(1), id, appVersion);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Serialize and store the response of a stored review; returns it gzip-compressed
+     */
+    public byte[] put(CodeReview review) {
+        byte[] content = serialize(review);
+        jdbcTemplate.update("MERGE INTO review_responses (review_id, app_version, content) KEY (review_id) VALUES (?, ?, ?)",
+                review.getId(), appVersion, content);
+        return content;
+    }
+
+    /**
+     * The gzip-compressed response of a review, without storing it
+     */
+    public byte[] serialize(CodeReview review) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                objectMapper.writeValue(gzip, CodeReviewResponse.from(review));
+            }
+            return bytes.toByteArray();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize review " + review.getId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Plain JSON for clients that do not accept gzip
+     */
+    public static byte[] gunzip(byte[] content) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt stored review response", e);
+        }
+    }
+}
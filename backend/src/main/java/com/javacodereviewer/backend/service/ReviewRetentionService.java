@@ -0,0 +1,282 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewSourcesDetachedEvent;
+import com.javacodereviewer.backend.event.ReviewsArchivedEvent;
+import com.javacodereviewer.backend.model.MonthlyReviewStatistics;
+import com.javacodereviewer.backend.model.ProviderStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background retention for the review history (app.retention.enabled).
+ *
+ * Reviews are partitioned by review_month. Whole months older than app.retention.review-months
+ * are folded into review_monthly_aggregates (count, issues and tokens per provider) and then
+ * deleted; sources of reviews older than app.retention.source-days are detached and their
+ * blobs dropped once nothing references them. A blob is only dropped when it has not been
+ * stored or reused for app.retention.blob-grace-minutes, so a review saved with the same source
+ * keeps it; blobs spared that way are swept on a later run. All steps work in small batches, each
+ * in its own transaction, on a single low-priority thread that sleeps between batches so it uses
+ * at most app.retention.max-duty-percent of one core.
+ */
+@Service
+public class ReviewRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewRetentionService.class);
+
+    // Adds one batch's per-month, per-provider totals to the aggregates in a single statement
+    private static final String FOLD_INTO_AGGREGATES = "MERGE INTO review_monthly_aggregates a USING ("
+            + "SELECT review_month, COALESCE(ai_provider, 'unknown') AS ai_provider, COUNT(*) AS review_count, "
+            + "SUM(COALESCE(total_issues, 0)) AS total_issues, SUM(COALESCE(total_tokens, 0)) AS total_tokens "
+            + "FROM code_reviews WHERE id IN (%s) GROUP BY review_month, COALESCE(ai_provider, 'unknown')) b "
+            + "ON a.review_month = b.review_month AND a.ai_provider = b.ai_provider "
+            + "WHEN MATCHED THEN UPDATE SET review_count = a.review_count + b.review_count, "
+            + "total_issues = a.total_issues + b.total_issues, total_tokens = a.total_tokens + b.total_tokens "
+            + "WHEN NOT MATCHED THEN INSERT (review_month, ai_provider, review_count, total_issues, total_tokens) "
+            + "VALUES (b.review_month, b.ai_provider, b.review_count, b.total_issues, b.total_tokens)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.retention.review-months:12}")
+    private int reviewMonths;
+
+    @Value("${app.retention.source-days:90}")
+    private int sourceDays;
+
+    @Value("${app.retention.blob-grace-minutes:60}")
+    private long blobGraceMinutes;
+
+    @Value("${app.retention.interval-ms:3600000}")
+    private long intervalMs;
+
+    @Value("${app.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.retention.max-duty-percent:10}")
+    private int maxDutyPercent;
+
+    private ScheduledExecutorService executor;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public ReviewRetentionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "review-retention");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::run, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Review retention enabled: reviews kept {} months, sources {} days", reviewMonths, sourceDays);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        // No interrupt: interrupting a thread inside JDBC can close H2's file channel
+        stopped.countDown();
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void run() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long archived = archiveReviewsBefore(CodeReview.reviewMonthOf(now.minusMonths(reviewMonths)));
+            long detached = dropSourcesBefore(now.minusDays(sourceDays));
+            long swept = dropOrphanedBlobs();
+            if (archived > 0 || detached > 0) {
+                log.info("Retention archived {} reviews into monthly aggregates and dropped the sources of {} more",
+                        archived, detached);
+            }
+            if (swept > 0) {
+                log.info("Retention dropped {} source blobs that no review or job refers to", swept);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Review retention failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fold reviews from months before cutoffMonth (yyyymm) into the aggregates and delete them
+     */
+    public long archiveReviewsBefore(int cutoffMonth) throws InterruptedException {
+        long total = 0;
+        while (stopped.getCount() > 0) {
+            long start = System.nanoTime();
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = jdbcTemplate.queryForList(
+                        "SELECT id FROM code_reviews WHERE review_month < ? ORDER BY review_month, id LIMIT ?",
+                        Long.class, cutoffMonth, batchSize);
+                if (batch.isEmpty()) {
+                    return batch;
+                }
+                String in = placeholders(batch.size());
+                Object[] args = batch.toArray();
+                List<String> hashes = jdbcTemplate.queryForList(
+                        "SELECT DISTINCT source_hash FROM code_reviews WHERE source_hash IS NOT NULL AND id IN (" + in + ")",
+                        String.class, args);
+                jdbcTemplate.update(String.format(FOLD_INTO_AGGREGATES, in), args);
+                jdbcTemplate.update("DELETE FROM review_findings WHERE review_id IN (" + in + ")", args);
+                jdbcTemplate.update("DELETE FROM code_reviews WHERE id IN (" + in + ")", args);
+                deleteUnreferencedBlobs(hashes);
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            eventPublisher.publishEvent(new ReviewsArchivedEvent(ids));
+            total += ids.size();
+            throttle(start);
+        }
+        return total;
+    }
+
+    /**
+     * Detach the sources of reviews older than cutoff and drop blobs that nothing references any more
+     */
+    public long dropSourcesBefore(LocalDateTime cutoff) throws InterruptedException {
+        long total = 0;
+        while (stopped.getCount() > 0) {
+            long start = System.nanoTime();
+            List<Long> detached = transactionTemplate.execute(status -> {
+                List<Long> ids = new ArrayList<>();
+                Set<String> hashes = new LinkedHashSet<>();
+                jdbcTemplate.query("SELECT id, source_hash FROM code_reviews WHERE review_time < ? "
+                        + "AND source_hash IS NOT NULL LIMIT ?", rs -> {
+                    ids.add(rs.getLong(1));
+                    hashes.add(rs.getString(2));
+                }, cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+                jdbcTemplate.update("UPDATE code_reviews SET source_hash = NULL WHERE id IN ("
+                        + placeholders(ids.size()) + ")", ids.toArray());
+                deleteUnreferencedBlobs(hashes);
+                return ids;
+            });
+            if (detached == null || detached.isEmpty()) {
+                break;
+            }
+            eventPublisher.publishEvent(new ReviewSourcesDetachedEvent(detached));
+            total += detached.size();
+            throttle(start);
+        }
+        return total;
+    }
+
+    /**
+     * Drop blobs that nothing references and that have not been stored or reused within the grace period
+     */
+    public long dropOrphanedBlobs() throws InterruptedException {
+        long total = 0;
+        while (stopped.getCount() > 0) {
+            long start = System.nanoTime();
+            Integer dropped = transactionTemplate.execute(status -> {
+                List<String> hashes = jdbcTemplate.queryForList("SELECT hash FROM source_blobs b "
+                        + "WHERE b.last_referenced_at < ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM code_reviews r WHERE r.source_hash = b.hash) "
+                        + "AND NOT EXISTS (SELECT 1 FROM review_jobs j WHERE j.source_hash = b.hash "
+                        + "AND j.available_at IS NOT NULL) LIMIT ?", String.class, graceCutoff(), batchSize);
+                return deleteUnreferencedBlobs(hashes);
+            });
+            if (dropped == null || dropped == 0) {
+                break;
+            }
+            total += dropped;
+            throttle(start);
+        }
+        return total;
+    }
+
+    /**
+     * Per-provider totals of all archived reviews
+     */
+    public List<ProviderStatistics> getArchivedStatisticsByProvider() {
+        return jdbcTemplate.query("SELECT ai_provider, SUM(review_count), SUM(total_issues) "
+                        + "FROM review_monthly_aggregates GROUP BY ai_provider",
+                (rs, rowNum) -> new ProviderStatistics(rs.getString(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    /**
+     * Archived totals per month and provider, newest month first
+     */
+    public List<MonthlyReviewStatistics> getArchivedMonths() {
+        return jdbcTemplate.query("SELECT review_month, ai_provider, review_count, total_issues, total_tokens "
+                        + "FROM review_monthly_aggregates ORDER BY review_month DESC, ai_provider",
+                (rs, rowNum) -> {
+                    int month = rs.getInt(1);
+                    return new MonthlyReviewStatistics(String.format("%04d-%02d", month / 100, month % 100),
+                            rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5));
+                });
+    }
+
+    private int deleteUnreferencedBlobs(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(hashes);
+        args.add(graceCutoff());
+        return jdbcTemplate.update("DELETE FROM source_blobs b WHERE b.hash IN (" + placeholders(hashes.size()) + ") "
+                + "AND b.last_referenced_at < ? "
+                + "AND NOT EXISTS (SELECT 1 FROM code_reviews r WHERE r.source_hash = b.hash) "
+                + "AND NOT EXISTS (SELECT 1 FROM review_jobs j WHERE j.source_hash = b.hash AND j.available_at IS NOT NULL)",
+                args.toArray());
+    }
+
+    private LocalDateTime graceCutoff() {
+        return LocalDateTime.now().minusMinutes(blobGraceMinutes);
+    }
+
+    /**
+     * Sleep long enough after a batch to stay within the duty cycle; a slow batch (busy database) earns a longer pause
+     */
+    private void throttle(long startNanos) throws InterruptedException {
+        long busyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        long pauseMs = Math.max(10, busyMs * (100 - maxDutyPercent) / Math.max(1, maxDutyPercent));
+        stopped.await(pauseMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
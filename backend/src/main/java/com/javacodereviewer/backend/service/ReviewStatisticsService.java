@@ -0,0 +1,151 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.event.ReviewDeletedEvent;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.event.ReviewsImportedEvent;
+import com.javacodereviewer.backend.model.ProviderStatistics;
+import com.javacodereviewer.backend.model.ReviewStatistics;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Review statistics kept in memory and updated from save and delete events, so /stats never scans the table.
+ *
+ * The counters are loaded from the database at startup and periodically replaced by a fresh
+ * GROUP BY, which also heals any drift (e.g. from writes that bypassed the events). A save or
+ * delete that lands while a recount runs may be off by one until the next recount; the write
+ * path stays lock-free in exchange. Reviews folded into monthly aggregates by the retention job
+ * keep counting, so archiving does not change the totals. Instances sharing a database miss each
+ * other's events, so with app.stats.counters.enabled=false (the shared profile) every call recounts.
+ */
+@Service
+public class ReviewStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewStatisticsService.class);
+
+    private final CodeReviewRepository codeReviewRepository;
+    private final ReviewRetentionService reviewRetentionService;
+
+    @Value("${app.stats.counters.enabled:true}")
+    private boolean countersEnabled;
+
+    private volatile ConcurrentHashMap<String, ProviderCounters> counters = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastReconciled;
+
+    public ReviewStatisticsService(CodeReviewRepository codeReviewRepository,
+                                   ReviewRetentionService reviewRetentionService) {
+        this.codeReviewRepository = codeReviewRepository;
+        this.reviewRetentionService = reviewRetentionService;
+    }
+
+    @PostConstruct
+    public void init() {
+        reconcile();
+    }
+
+    /**
+     * Replace the counters with the database totals
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (countersEnabled) {
+            recount(true);
+        }
+    }
+
+    private synchronized void recount(boolean reportDrift) {
+        ConcurrentHashMap<String, ProviderCounters> rebuilt = new ConcurrentHashMap<>();
+        List<ProviderStatistics> rows = new ArrayList<>(codeReviewRepository.getStatisticsByProvider());
+        rows.addAll(reviewRetentionService.getArchivedStatisticsByProvider());
+        for (ProviderStatistics row : rows) {
+            ProviderCounters entry = rebuilt.computeIfAbsent(providerKey(row.getAiProvider()), k -> new ProviderCounters());
+            entry.reviews.add(row.getReviewCount());
+            entry.issues.add(row.getTotalIssues());
+        }
+
+        long before = totalReviews(counters);
+        long after = totalReviews(rebuilt);
+        if (reportDrift && lastReconciled != null && before != after) {
+            log.warn("Review statistics drifted: {} counted in memory, {} in the database", before, after);
+        }
+        counters = rebuilt;
+        lastReconciled = LocalDateTime.now();
+    }
+
+    @EventListener
+    public void onReviewSaved(ReviewSavedEvent event) {
+        Integer issues = event.review().getTotalIssues();
+        ProviderCounters entry = counters(event.review().getAiProvider());
+        entry.reviews.increment();
+        entry.issues.add(issues != null ? issues : 0);
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        ProviderCounters entry = counters(event.aiProvider());
+        entry.reviews.decrement();
+        entry.issues.add(-(event.totalIssues() != null ? event.totalIssues() : 0));
+    }
+
+    @EventListener
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        // One recount is cheaper than counting a bulk import review by review; the difference is expected
+        recount(false);
+    }
+
+    /**
+     * Current totals; cost depends on the number of providers, not the number of reviews,
+     * unless the counters are disabled
+     */
+    public ReviewStatistics getStatistics() {
+        if (!countersEnabled) {
+            recount(false);
+        }
+        List<ProviderStatistics> providers = new ArrayList<>();
+        counters.forEach((provider, entry) -> {
+            long reviews = entry.reviews.sum();
+            if (reviews > 0) {
+                providers.add(new ProviderStatistics(provider, reviews, entry.issues.sum()));
+            }
+        });
+        providers.sort(Comparator.comparingLong(ProviderStatistics::getReviewCount).reversed());
+
+        long total = providers.stream().mapToLong(ProviderStatistics::getReviewCount).sum();
+        return new ReviewStatistics(total, providers, lastReconciled);
+    }
+
+    private ProviderCounters counters(String provider) {
+        ConcurrentHashMap<String, ProviderCounters> current = counters;
+        String key = providerKey(provider);
+        ProviderCounters entry = current.get(key);
+        return entry != null ? entry : current.computeIfAbsent(key, k -> new ProviderCounters());
+    }
+
+    private static long totalReviews(ConcurrentHashMap<String, ProviderCounters> counters) {
+        return counters.values().stream().mapToLong(entry -> entry.reviews.sum()).sum();
+    }
+
+    // ConcurrentHashMap does not accept null keys
+    private static String providerKey(String provider) {
+        return provider != null ? provider : "unknown";
+    }
+
+    private static final class ProviderCounters {
+        private final LongAdder reviews = new LongAdder();
+        private final LongAdder issues = new LongAdder();
+    }
+}
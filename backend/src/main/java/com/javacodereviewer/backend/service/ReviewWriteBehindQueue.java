@@ -0,0 +1,234 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import com.javacodereviewer.backend.event.ReviewSavedEvent;
+import com.javacodereviewer.backend.repository.CodeReviewRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind persistence for completed reviews (app.reviews.write-behind.enabled).
+ *
+ * Reviews go into a bounded queue and a single background writer stores them with saveAll,
+ * one transaction and one JDBC batch per drained batch. Until a review is written it stays
+ * readable through getPending. When the queue is full the caller stores the review itself,
+ * so a burst slows requests down instead of dropping data. At shutdown the queue is drained
+ * before the datasource goes away.
+ *
+ * Only transient failures (lost connection, lock timeout) are retried. A batch the database
+ * rejects outright is written one review at a time, and a review that still fails is logged
+ * and dropped so it cannot hold up the reviews queued behind it.
+ */
+@Service
+public class ReviewWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewWriteBehindQueue.class);
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final CodeReviewRepository codeReviewRepository;
+    private final SourceBlobStore sourceBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.reviews.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reviews.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.reviews.write-behind.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.reviews.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    private BlockingQueue<CodeReview> queue;
+    private final ConcurrentHashMap<Long, CodeReview> pending = new ConcurrentHashMap<>();
+    private Thread writer;
+    private volatile boolean running;
+    private volatile List<CodeReview> unwritten = List.of();
+
+    public ReviewWriteBehindQueue(CodeReviewRepository codeReviewRepository, SourceBlobStore sourceBlobStore,
+                                  TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.codeReviewRepository = codeReviewRepository;
+        this.sourceBlobStore = sourceBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::run, "review-write-behind");
+        writer.start();
+        log.info("Write-behind review persistence enabled (capacity {}, batch size {})", capacity, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // No interrupt: interrupting a thread inside JDBC can close H2's file channel
+        running = false;
+        writer.join();
+
+        // Anything still queued is written synchronously before the datasource closes. No events:
+        // their listeners may already be destroyed, and each rebuilds its state from the database
+        // at the next start.
+        List<CodeReview> remaining = new ArrayList<>(unwritten);
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} queued reviews before shutdown", remaining.size());
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<CodeReview> batch = new ArrayList<>(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+                try {
+                    writeOrSplit(batch, false);
+                } catch (RuntimeException e) {
+                    log.error("Failed to write {} queued reviews before shutdown: {}", batch.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Store a review: queued when write-behind is on and running, otherwise written right away
+     */
+    public void submit(CodeReview review) {
+        if (running) {
+            pending.put(review.getId(), review);
+            if (queue.offer(review)) {
+                return;
+            }
+            pending.remove(review.getId());
+        }
+        write(List.of(review), true);
+    }
+
+    /**
+     * A review that has been accepted but not written yet
+     */
+    public CodeReview getPending(Long id) {
+        return pending.get(id);
+    }
+
+    public int getQueuedCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    private void run() {
+        List<CodeReview> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                CodeReview first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!writeWithRetry(batch)) {
+                    break;
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A batch that could not be written yet is retried once more by stop()
+        unwritten = batch;
+    }
+
+    /**
+     * Write a batch, retrying transient failures until it is written (true) or the queue stops (false)
+     */
+    private boolean writeWithRetry(List<CodeReview> batch) throws InterruptedException {
+        while (running) {
+            try {
+                writeOrSplit(batch, true);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} queued reviews, retrying: {}", batch.size(), e.getMessage());
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write a batch; when the database rejects it, write its reviews one at a time and drop the
+     * ones it still rejects. Transient failures are thrown, with the reviews already written
+     * removed from the batch.
+     */
+    private void writeOrSplit(List<CodeReview> batch, boolean publishEvents) {
+        try {
+            write(batch, publishEvents);
+            return;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            log.warn("Failed to write {} queued reviews, writing them one at a time: {}", batch.size(), e.getMessage());
+        }
+        Iterator<CodeReview> reviews = batch.iterator();
+        while (reviews.hasNext()) {
+            CodeReview review = reviews.next();
+            try {
+                write(List.of(review), publishEvents);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                log.error("Dropping queued review {}, the database rejects it: {}", review.getId(), e.getMessage());
+                pending.remove(review.getId());
+            }
+            reviews.remove();
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void write(List<CodeReview> batch, boolean publishEvents) {
+        transactionTemplate.executeWithoutResult(status -> {
+            sourceBlobStore.store(batch);
+            codeReviewRepository.saveAll(batch);
+        });
+        for (CodeReview review : batch) {
+            pending.remove(review.getId());
+            if (publishEvents) {
+                eventPublisher.publishEvent(new ReviewSavedEvent(review));
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.entity.CodeReview;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Content-addressed store for reviewed source code.
+ *
+ * Each distinct source text is kept once in source_blobs, keyed by the hex SHA-256 of its UTF-8
+ * bytes and compressed with Deflate. Reviews only hold the hash, so re-reviewing the same file
+ * adds no source data, and loading a review never reads or inflates its source. The text is
+ * inflated only when it is asked for through load().
+ *
+ * Uploaded files go through read(), which hashes, compresses and decodes the stream chunk by
+ * chunk, so the UTF-8 bytes of a large source are never held in the heap as a whole.
+ *
+ * Every write or reuse of a blob stamps last_referenced_at, and retention only drops blobs whose
+ * stamp is older than its grace period, so a blob cannot disappear between being stored here
+ * and the review or job that refers to it being written.
+ */
+@Service
+public class SourceBlobStore {
+
+    private static final String INSERT = "INSERT INTO source_blobs (hash, original_length, content) VALUES (?, ?, ?)";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SourceBlobStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Set the source hash of each review and write the sources that are not stored yet, in one batch
+     */
+    public void store(List<CodeReview> reviews) {
+        Map<String, byte[]> sources = new LinkedHashMap<>();
+        for (CodeReview review : reviews) {
+            if (review.getCodeContent() == null || review.getSourceHash() != null) {
+                continue;
+            }
+            byte[] bytes = review.getCodeContent().getBytes(StandardCharsets.UTF_8);
+            String hash = hash(bytes);
+            review.setSourceHash(hash);
+            sources.putIfAbsent(hash, bytes);
+        }
+        if (sources.isEmpty()) {
+            return;
+        }
+        try {
+            insertMissing(sources);
+        } catch (DuplicateKeyException e) {
+            // Another writer stored the same source in the meantime; only the rest is left
+            insertMissing(sources);
+        }
+    }
+
+    /**
+     * Store one source text unless it is stored already and return its hash
+     */
+    public String store(String source) {
+        byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+        String hash = hash(bytes);
+        try {
+            insertMissing(Map.of(hash, bytes));
+        } catch (DuplicateKeyException e) {
+            // Another writer stored the same source in the meantime
+        }
+        return hash;
+    }
+
+    /**
+     * Write a source read by read() unless it is stored already
+     */
+    public void store(StreamedSource source) {
+        if (!touchExisting(Set.of(source.hash())).isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT, source.hash(), source.originalLength(), source.content());
+        } catch (DuplicateKeyException e) {
+            // Another writer stored the same source in the meantime
+        }
+    }
+
+    /**
+     * The source text for a hash, inflated on demand
+     */
+    public Optional<String> load(String hash) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT content FROM source_blobs WHERE hash = ?",
+                (rs, rowNum) -> rs.getBytes(1), hash);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(decompress(rows.get(0)));
+    }
+
+    private void insertMissing(Map<String, byte[]> sources) {
+        Set<String> stored = touchExisting(sources.keySet());
+        List<Object[]> rows = new ArrayList<>();
+        sources.forEach((hash, bytes) -> {
+            if (!stored.contains(hash)) {
+                rows.add(new Object[]{hash, bytes.length, compress(bytes)});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+    }
+
+    /**
+     * Stamp the stored blobs among hashes as just referenced and return their hashes. The stamp
+     * comes first, so a blob that is still there when it is read back stays for the grace period.
+     */
+    private Set<String> touchExisting(Set<String> hashes) {
+        String placeholders = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+        jdbcTemplate.update("UPDATE source_blobs SET last_referenced_at = LOCALTIMESTAMP WHERE hash IN ("
+                + placeholders + ")", hashes.toArray());
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT hash FROM source_blobs WHERE hash IN (" + placeholders + ")", String.class, hashes.toArray()));
+    }
+
+    /**
+     * Read UTF-8 source text from a stream in fixed-size chunks. Each chunk is added to the hash
+     * and the Deflate stream as it arrives and decoded into the text, so the only full copies are
+     * the text itself and its compressed blob. sizeHint, the expected byte count if known,
+     * presizes the text.
+     */
+    public static StreamedSource read(InputStream in, long maxBytes, long sizeHint) throws IOException {
+        MessageDigest digest = sha256();
+        Deflater deflater = new Deflater();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byte[] buffer = new byte[CHUNK_SIZE];
+        byte[] deflated = new byte[8192];
+        ByteBuffer pending = ByteBuffer.wrap(buffer);
+        CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+        StringBuilder text = new StringBuilder((int) Math.min(Math.max(sizeHint, 16), maxBytes));
+        ByteArrayOutputStream content = new ByteArrayOutputStream(
+                (int) Math.min(Math.max(sizeHint / 4, 64), maxBytes));
+        long total = 0;
+        try {
+            int n;
+            // Bytes of a character split across chunks stay at the start of the buffer
+            while ((n = in.read(buffer, pending.position(), buffer.length - pending.position())) != -1) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new SourceTooLargeException(maxBytes);
+                }
+                digest.update(buffer, pending.position(), n);
+                deflater.setInput(buffer, pending.position(), n);
+                while (!deflater.needsInput()) {
+                    content.write(deflated, 0, deflater.deflate(deflated));
+                }
+                pending.position(pending.position() + n).flip();
+                decode(decoder, pending, chars, text, false);
+                pending.compact();
+            }
+            pending.flip();
+            decode(decoder, pending, chars, text, true);
+            decoder.flush(chars);
+            text.append(chars.flip());
+            deflater.finish();
+            while (!deflater.finished()) {
+                content.write(deflated, 0, deflater.deflate(deflated));
+            }
+        } finally {
+            deflater.end();
+        }
+        return new StreamedSource(text.toString(), hex(digest.digest()), (int) total, content.toByteArray());
+    }
+
+    private static void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars,
+                               StringBuilder text, boolean endOfInput) {
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, endOfInput);
+            text.append(chars.flip());
+            chars.clear();
+        } while (result.isOverflow());
+    }
+
+    public static String hash(byte[] bytes) {
+        return hex(sha256().digest(bytes));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public static byte[] compress(byte[] bytes) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated input");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt source blob", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Source text with the hex SHA-256 and Deflate blob of its UTF-8 bytes
+     */
+    public record StreamedSource(String text, String hash, int originalLength, byte[] content) {}
+
+    /**
+     * Thrown by read() when the stream is longer than allowed
+     */
+    public static class SourceTooLargeException extends IOException {
+        public SourceTooLargeException(long maxBytes) {
+            super("Source exceeds " + maxBytes + " bytes");
+        }
+    }
+}
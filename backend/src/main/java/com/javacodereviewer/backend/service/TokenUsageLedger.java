@@ -0,0 +1,227 @@
+package com.javacodereviewer.backend.service;
+
+import com.javacodereviewer.backend.model.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory ledger of token consumption, aggregated per provider, model, client and day.
+ * Counters are LongAdders so concurrent reviews never contend on the write path.
+ *
+ * The ledger is bounded: days older than app.usage.retention-days are pruned on a schedule,
+ * and once a day has seen app.usage.max-clients-per-day distinct client ids, usage of further
+ * clients that day is booked under "other". Client ids come from a request header, so without
+ * the cap every caller inventing ids would add entries.
+ *
+ * The ledger only sees the reviews of this instance. With app.usage.from-database=true (the
+ * shared profile) nothing is kept in memory and queries aggregate the stored reviews instead,
+ * which covers every instance but no longer counts reviews that were deleted or archived.
+ */
+@Service
+public class TokenUsageLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenUsageLedger.class);
+
+    private static final String OTHER_CLIENT = "other";
+
+    private final ConcurrentHashMap<UsageKey, UsageCounters> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LocalDate, Set<String>> clientsByDay = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.usage.from-database:false}")
+    private boolean fromDatabase;
+
+    @Value("${app.usage.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${app.usage.max-clients-per-day:1000}")
+    private int maxClientsPerDay;
+
+    @Value("#{${app.usage.prompt-price-per-1k:{'gpt-4': 0.03}}}")
+    private Map<String, Double> promptPricePer1k;
+
+    @Value("#{${app.usage.completion-price-per-1k:{'gpt-4': 0.06}}}")
+    private Map<String, Double> completionPricePer1k;
+
+    public TokenUsageLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record one review; a null usage counts the request with zero tokens (demo mode)
+     */
+    public void record(String provider, String clientId, TokenUsage usage) {
+        if (fromDatabase) {
+            return;
+        }
+        String model = usage != null && usage.getModel() != null ? usage.getModel() : "none";
+        LocalDate day = LocalDate.now();
+        UsageKey key = new UsageKey(provider, model, admitClient(day, clientId), day);
+
+        // Plain get first: after the first review of the day the key exists and no lock is taken
+        UsageCounters entry = counters.get(key);
+        if (entry == null) {
+            entry = counters.computeIfAbsent(key, k -> new UsageCounters());
+        }
+
+        entry.requests.increment();
+        if (usage != null) {
+            entry.promptTokens.add(usage.getPromptTokens());
+            entry.completionTokens.add(usage.getCompletionTokens());
+            entry.totalTokens.add(usage.getTotalTokens());
+        }
+    }
+
+    /**
+     * Drop the days that fell out of the retention window
+     */
+    @Scheduled(fixedDelayString = "${app.usage.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        int before = counters.size();
+        counters.keySet().removeIf(key -> key.day().isBefore(oldest));
+        clientsByDay.keySet().removeIf(day -> day.isBefore(oldest));
+        int removed = before - counters.size();
+        if (removed > 0) {
+            log.info("Pruned {} usage entries older than {}", removed, oldest);
+        }
+    }
+
+    /**
+     * The client id to book usage under: the id itself while the day has room for it, else "other".
+     * Concurrent first sightings may let a day go a few ids over the cap.
+     */
+    private String admitClient(LocalDate day, String clientId) {
+        Set<String> clients = clientsByDay.get(day);
+        if (clients == null) {
+            clients = clientsByDay.computeIfAbsent(day, d -> ConcurrentHashMap.newKeySet());
+        }
+        if (clients.contains(clientId)) {
+            return clientId;
+        }
+        if (clients.size() >= maxClientsPerDay) {
+            return OTHER_CLIENT;
+        }
+        clients.add(clientId);
+        return clientId;
+    }
+
+    /**
+     * Query aggregated usage; null filters match everything
+     */
+    public List<UsageRow> query(String provider, String model, String clientId, LocalDate from, LocalDate to) {
+        List<UsageRow> rows = fromDatabase
+                ? queryDatabase(provider, model, clientId, from, to)
+                : queryMemory(provider, model, clientId, from, to);
+        rows.sort(Comparator.comparing(UsageRow::day).reversed()
+                .thenComparing(UsageRow::provider)
+                .thenComparing(UsageRow::model)
+                .thenComparing(UsageRow::clientId));
+        return rows;
+    }
+
+    private List<UsageRow> queryMemory(String provider, String model, String clientId, LocalDate from, LocalDate to) {
+        List<UsageRow> rows = new ArrayList<>();
+        counters.forEach((key, entry) -> {
+            if ((provider == null || provider.equals(key.provider()))
+                    && (model == null || model.equals(key.model()))
+                    && (clientId == null || clientId.equals(key.clientId()))
+                    && (from == null || !key.day().isBefore(from))
+                    && (to == null || !key.day().isAfter(to))) {
+                long prompt = entry.promptTokens.sum();
+                long completion = entry.completionTokens.sum();
+                rows.add(new UsageRow(key.provider(), key.model(), key.clientId(), key.day(),
+                        entry.requests.sum(), prompt, completion, entry.totalTokens.sum(),
+                        estimateCost(key.model(), prompt, completion)));
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * The same rows aggregated from code_reviews, with the defaults record() would have used
+     */
+    private List<UsageRow> queryDatabase(String provider, String model, String clientId, LocalDate from, LocalDate to) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (provider != null) {
+            conditions.add("ai_provider = ?");
+            args.add(provider);
+        }
+        if (model != null) {
+            conditions.add("COALESCE(ai_model, 'none') = ?");
+            args.add(model);
+        }
+        if (clientId != null) {
+            conditions.add("client_id = ?");
+            args.add(clientId);
+        }
+        if (from != null) {
+            conditions.add("review_time >= ?");
+            args.add(from.atStartOfDay());
+        }
+        if (to != null) {
+            conditions.add("review_time < ?");
+            args.add(to.plusDays(1).atStartOfDay());
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return jdbcTemplate.query("SELECT COALESCE(ai_provider, 'unknown') p, COALESCE(ai_model, 'none') m, "
+                        + "COALESCE(client_id, 'anonymous') c, CAST(review_time AS DATE) d, COUNT(*), "
+                        + "SUM(COALESCE(prompt_tokens, 0)), SUM(COALESCE(completion_tokens, 0)), "
+                        + "SUM(COALESCE(total_tokens, 0)) FROM code_reviews" + where + " GROUP BY p, m, c, d",
+                (rs, rowNum) -> {
+                    String rowModel = rs.getString(2);
+                    long prompt = rs.getLong(6);
+                    long completion = rs.getLong(7);
+                    return new UsageRow(rs.getString(1), rowModel, rs.getString(3), rs.getObject(4, LocalDate.class),
+                            rs.getLong(5), prompt, completion, rs.getLong(8), estimateCost(rowModel, prompt, completion));
+                }, args.toArray());
+    }
+
+    private double estimateCost(String model, long promptTokens, long completionTokens) {
+        return promptTokens / 1000.0 * priceFor(promptPricePer1k, model)
+                + completionTokens / 1000.0 * priceFor(completionPricePer1k, model);
+    }
+
+    /**
+     * Providers report dated model names (gpt-4-0613), so prices match on the longest prefix
+     */
+    private double priceFor(Map<String, Double> prices, String model) {
+        String bestMatch = null;
+        for (String candidate : prices.keySet()) {
+            if (model.startsWith(candidate) && (bestMatch == null || candidate.length() > bestMatch.length())) {
+                bestMatch = candidate;
+            }
+        }
+        return bestMatch != null ? prices.get(bestMatch) : 0.0;
+    }
+
+    private record UsageKey(String provider, String model, String clientId, LocalDate day) {}
+
+    private static final class UsageCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final LongAdder totalTokens = new LongAdder();
+    }
+
+    /**
+     * One aggregated ledger line
+     */
+    public record UsageRow(String provider, String model, String clientId, LocalDate day,
+                           long requests, long promptTokens, long completionTokens, long totalTokens,
+                           double estimatedCost) {}
+}
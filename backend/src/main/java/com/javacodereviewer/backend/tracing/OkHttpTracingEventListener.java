@@ -0,0 +1,137 @@
+package com.javacodereviewer.backend.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * OkHttp event listener that records the phases of a provider call
+ * (DNS, connect, TLS, request, server wait, response body) as child spans
+ * of the span that was current when the call was created
+ */
+public class OkHttpTracingEventListener extends EventListener {
+
+    private final Tracer tracer;
+    private final Context parent;
+
+    private Instant dnsStart;
+    private Instant connectStart;
+    private Instant tlsStart;
+    private Instant requestStart;
+    private Instant requestEnd;
+    private Instant responseStart;
+
+    private OkHttpTracingEventListener(Tracer tracer, Context parent) {
+        this.tracer = tracer;
+        this.parent = parent;
+    }
+
+    /**
+     * Create a listener factory; each call is bound to the caller's current span
+     */
+    public static EventListener.Factory factory(Tracer tracer) {
+        return call -> new OkHttpTracingEventListener(tracer, Context.current());
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = Instant.now();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        recordPhase("okhttp.dns", dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        connectStart = Instant.now();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = Instant.now();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        recordPhase("okhttp.tls", tlsStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        recordPhase("okhttp.connect", connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol, IOException ioe) {
+        recordPhase("okhttp.connect", connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = Instant.now();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, okhttp3.Request request) {
+        requestEnd = Instant.now();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = Instant.now();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        recordPhase("okhttp.request", requestStart, requestEnd);
+        recordPhase("okhttp.server_wait", requestEnd);
+        responseStart = Instant.now();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        Span.fromContext(parent).setAttribute("http.response.status_code", response.code());
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        recordPhase("okhttp.response", responseStart);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        Span span = Span.fromContext(parent);
+        span.recordException(ioe);
+        span.setStatus(StatusCode.ERROR);
+    }
+
+    private void recordPhase(String name, Instant start) {
+        recordPhase(name, start, Instant.now());
+    }
+
+    private void recordPhase(String name, Instant start, Instant end) {
+        if (start == null || end == null) {
+            return;
+        }
+        tracer.spanBuilder(name)
+                .setParent(parent)
+                .setStartTimestamp(start)
+                .startSpan()
+                .end(end);
+    }
+}
@@ -0,0 +1,45 @@
+package com.javacodereviewer.backend.tracing;
+
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts finished spans into plain maps for JSON output
+ */
+public final class SpanDataMapper {
+
+    private SpanDataMapper() {}
+
+    public static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            map.put("parentSpanId", span.getParentSpanId());
+        }
+        map.put("name", span.getName());
+        map.put("kind", span.getKind().name());
+        map.put("startEpochNanos", span.getStartEpochNanos());
+        map.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        map.put("status", span.getStatus().getStatusCode().name());
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        map.put("attributes", attributes);
+
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (EventData event : span.getEvents()) {
+            Map<String, Object> eventMap = new LinkedHashMap<>();
+            eventMap.put("name", event.getName());
+            eventMap.put("offsetMicros", (event.getEpochNanos() - span.getStartEpochNanos()) / 1_000);
+            events.add(eventMap);
+        }
+        map.put("events", events);
+        return map;
+    }
+}
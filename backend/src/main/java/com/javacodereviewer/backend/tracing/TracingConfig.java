@@ -0,0 +1,85 @@
+package com.javacodereviewer.backend.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * OpenTelemetry setup for tracing the review request lifecycle.
+ * Exporters are selected with app.tracing.exporters (memory, file, otlp).
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final String INSTRUMENTATION_NAME = "com.javacodereviewer.backend";
+
+    @Value("${app.tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tracing.exporters:memory}")
+    private List<String> exporters;
+
+    @Value("${app.tracing.memory.max-spans:5000}")
+    private int memoryMaxSpans;
+
+    @Value("${app.tracing.file.path:logs/traces.jsonl}")
+    private String filePath;
+
+    @Value("${app.tracing.otlp.endpoint:http://localhost:4318/v1/traces}")
+    private String otlpEndpoint;
+
+    @Value("${app.name:AI Java Code Reviewer}")
+    private String serviceName;
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return new InMemorySpanExporter(memoryMaxSpans);
+    }
+
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(InMemorySpanExporter inMemorySpanExporter) throws IOException {
+        SdkTracerProviderBuilder tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), serviceName))));
+
+        if (enabled) {
+            for (String exporter : exporters) {
+                switch (exporter.trim().toLowerCase()) {
+                    case "memory" -> tracerProvider.addSpanProcessor(
+                            SimpleSpanProcessor.create(inMemorySpanExporter));
+                    case "file" -> tracerProvider.addSpanProcessor(
+                            BatchSpanProcessor.builder(new FileSpanExporter(Path.of(filePath))).build());
+                    case "otlp" -> tracerProvider.addSpanProcessor(
+                            BatchSpanProcessor.builder(OtlpHttpSpanExporter.builder()
+                                    .setEndpoint(otlpEndpoint)
+                                    .build()).build());
+                    default -> throw new IllegalArgumentException("Unsupported trace exporter: " + exporter);
+                }
+            }
+        }
+
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider.build())
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+}
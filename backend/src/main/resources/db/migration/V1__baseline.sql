@@ -0,0 +1,44 @@
+-- Baseline schema for the durable profile; mirrors the JPA entities (ddl-auto=validate checks it)
+
+CREATE SEQUENCE IF NOT EXISTS code_reviews_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE code_reviews (
+    id BIGINT NOT NULL,
+    code_content CLOB,
+    summary CLOB,
+    ai_provider VARCHAR(255),
+    file_name VARCHAR(255),
+    review_time TIMESTAMP(6),
+    total_issues INTEGER,
+    client_id VARCHAR(255),
+    ai_model VARCHAR(255),
+    prompt_tokens BIGINT,
+    completion_tokens BIGINT,
+    total_tokens BIGINT,
+    total_lines INTEGER,
+    lines_of_code INTEGER,
+    comment_lines INTEGER,
+    blank_lines INTEGER,
+    comment_density FLOAT(53),
+    method_count INTEGER,
+    field_count INTEGER,
+    max_cyclomatic_complexity INTEGER,
+    avg_cyclomatic_complexity FLOAT(53),
+    max_nesting_depth INTEGER,
+    PRIMARY KEY (id)
+);
+
+-- Descending to match the newest-first keyset order; H2 does not walk an ascending index backwards for it
+CREATE INDEX idx_code_reviews_time_id ON code_reviews (review_time DESC, id DESC);
+CREATE INDEX idx_code_reviews_provider_time_id ON code_reviews (ai_provider, review_time DESC, id DESC);
+-- Covers the per-provider recount so it reads the index instead of the rows
+CREATE INDEX idx_code_reviews_provider_issues ON code_reviews (ai_provider, total_issues);
+
+CREATE TABLE review_findings (
+    review_id BIGINT NOT NULL,
+    ordinal INTEGER NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    message CLOB,
+    PRIMARY KEY (review_id, ordinal),
+    CONSTRAINT fk_review_findings_review FOREIGN KEY (review_id) REFERENCES code_reviews (id) ON DELETE CASCADE
+);
@@ -0,0 +1,6 @@
+-- Pre-serialized, gzip-compressed GET /api/reviews/{id} bodies; see ReviewResponseStore
+CREATE TABLE IF NOT EXISTS review_responses (
+    review_id BIGINT PRIMARY KEY,
+    app_version VARCHAR(32) NOT NULL,
+    content VARBINARY NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Shared review job queue; see ReviewJobQueue
+CREATE TABLE IF NOT EXISTS review_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    source_hash VARCHAR(64) NOT NULL,
+    ai_provider VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255),
+    client_id VARCHAR(255),
+    attempts INTEGER NOT NULL,
+    available_at TIMESTAMP,
+    lease_owner VARCHAR(255),
+    review_id BIGINT,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_review_jobs_available_at ON review_jobs (available_at);
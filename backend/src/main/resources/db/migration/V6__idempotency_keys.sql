@@ -0,0 +1,11 @@
+-- Idempotency-Key results of POST /api/reviews/review; see ReviewIdempotencyService
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    client_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    content VARBINARY,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (client_id, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,4 @@
+-- When a source blob was last written or reused; retention keeps blobs touched within
+-- app.retention.blob-grace-minutes so a review being saved never loses its source
+ALTER TABLE source_blobs ADD COLUMN IF NOT EXISTS last_referenced_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_source_blobs_last_referenced_at ON source_blobs (last_referenced_at);
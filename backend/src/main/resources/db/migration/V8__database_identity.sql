@@ -0,0 +1,5 @@
+-- Random identity of this database, drawn once when it is created; see DatabaseIdentity
+CREATE TABLE IF NOT EXISTS database_identity (
+    id UUID NOT NULL PRIMARY KEY
+);
+INSERT INTO database_identity (id) SELECT RANDOM_UUID() WHERE NOT EXISTS (SELECT 1 FROM database_identity);
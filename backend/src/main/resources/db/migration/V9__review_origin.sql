@@ -0,0 +1,5 @@
+-- Where an imported review came from: the exporting database's identity and the review's id there.
+-- Unique, so importing the same export twice stores each review once; see ReviewImportService
+ALTER TABLE code_reviews ADD COLUMN IF NOT EXISTS origin_instance VARCHAR(36);
+ALTER TABLE code_reviews ADD COLUMN IF NOT EXISTS origin_id BIGINT;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_code_reviews_origin ON code_reviews (origin_instance, origin_id);
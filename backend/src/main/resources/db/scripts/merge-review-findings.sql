@@ -0,0 +1,35 @@
+-- Moves findings from the four per-category tables (review_errors, review_warnings,
+-- review_suggestions, review_good_practices) into the single review_findings table.
+-- Only needed for a database created before the findings redesign; run it once, e.g.
+--   java -cp h2.jar org.h2.tools.RunScript -url jdbc:h2:file:./data/codereviewer -user sa -password password -script merge-review-findings.sql
+
+CREATE TABLE IF NOT EXISTS review_findings (
+    review_id BIGINT NOT NULL,
+    ordinal INTEGER NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    message CLOB,
+    PRIMARY KEY (review_id, ordinal),
+    CONSTRAINT fk_review_findings_review FOREIGN KEY (review_id) REFERENCES code_reviews (id) ON DELETE CASCADE
+);
+
+-- The old tables have no order column. Within a category the findings keep their insertion
+-- order, which H2 exposes as _ROWID_ on tables without a primary key.
+INSERT INTO review_findings (review_id, ordinal, category, message)
+SELECT review_id,
+       ROW_NUMBER() OVER (PARTITION BY review_id ORDER BY category_rank, row_id) - 1,
+       category,
+       message
+FROM (
+    SELECT review_id, 0 AS category_rank, _ROWID_ AS row_id, 'ERROR' AS category, error_message AS message FROM review_errors
+    UNION ALL
+    SELECT review_id, 1, _ROWID_, 'WARNING', warning_message FROM review_warnings
+    UNION ALL
+    SELECT review_id, 2, _ROWID_, 'SUGGESTION', suggestion_message FROM review_suggestions
+    UNION ALL
+    SELECT review_id, 3, _ROWID_, 'GOOD_PRACTICE', practice_message FROM review_good_practices
+) old_findings;
+
+DROP TABLE review_errors;
+DROP TABLE review_warnings;
+DROP TABLE review_suggestions;
+DROP TABLE review_good_practices;
@@ -17,9 +17,10 @@ class CodeReviewService {
     }
   }
 
-  static async getAllReviews() {
+  // List endpoints return { items, size, nextCursor }; pass nextCursor back to get the next page
+  static async getAllReviews(cursor, size) {
     try {
-      const response = await axios.get(`${API_BASE_URL}/reviews`);
+      const response = await axios.get(`${API_BASE_URL}/reviews`, { params: { cursor, size } });
       return response.data;
     } catch (error) {
       console.error('Error fetching reviews:', error);
@@ -47,9 +48,9 @@ class CodeReviewService {
     }
   }
 
-  static async getReviewsByProvider(provider) {
+  static async getReviewsByProvider(provider, cursor, size) {
     try {
-      const response = await axios.get(`${API_BASE_URL}/reviews/provider/${provider}`);
+      const response = await axios.get(`${API_BASE_URL}/reviews/provider/${encodeURIComponent(provider)}`, { params: { cursor, size } });
       return response.data;
     } catch (error) {
       console.error('Error fetching reviews by provider:', error);
@@ -57,9 +58,9 @@ class CodeReviewService {
     }
   }
 
-  static async searchReviews(keyword) {
+  static async searchReviews(keyword, cursor, size) {
     try {
-      const response = await axios.get(`${API_BASE_URL}/reviews/search?keyword=${encodeURIComponent(keyword)}`);
+      const response = await axios.get(`${API_BASE_URL}/reviews/search`, { params: { keyword, cursor, size } });
       return response.data;
     } catch (error) {
       console.error('Error searching reviews:', error);